@@ -0,0 +1,70 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+
+/**
+ * Validação de saldo disponível com saldo suficiente e com saldo
+ * insuficiente, caso em que a exceção lançada entra na medição, e a mesma
+ * recusa pelo caminho sem exceção ({@code hasBalance}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AvailableBalanceValidationBenchmark {
+
+    private final AvailableBalanceValidation validation = new AvailableBalanceValidation();
+
+    private Transaction withBalance;
+
+    private Transaction withoutBalance;
+
+    @Setup
+    public void setup() {
+        var source = new Account("Origem", 1, 100000, 50000);
+        var receiver = new Account("Destino", 2, 0, 0);
+
+        withBalance = new Transaction(source, receiver, 120000, TransactionType.TRANSFER);
+        withoutBalance = new Transaction(source, receiver, 160000, TransactionType.TRANSFER);
+    }
+
+    @Benchmark
+    public Transaction comSaldo() {
+        validation.validate(withBalance);
+        return withBalance;
+    }
+
+    @Benchmark
+    public Object semSaldo() {
+        try {
+            validation.validate(withoutBalance);
+            return withoutBalance;
+        } catch (WithoutBalanceException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public boolean semSaldoSemExcecao() {
+        return validation.hasBalance(withoutBalance);
+    }
+}
@@ -0,0 +1,64 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.Application;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+/**
+ * Sobe a aplicação sobre um banco H2 em memória para os benchmarks.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Sobe a aplicação com o servidor web em uma porta livre, disponível em
+     * {@code local.server.port}.
+     */
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        var withPort = new ArrayList<>(List.of(properties));
+        withPort.add("server.port=0");
+        return start(WebApplicationType.SERVLET, withPort.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type, String... properties) {
+        var defaults = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.main.banner-mode=off",
+                "logging.level.root=warn"));
+        defaults.addAll(List.of(properties));
+
+        // Passadas como argumentos para prevalecer sobre o application.properties
+        return new SpringApplicationBuilder(Application.class)
+                .web(type)
+                .run(defaults.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * Cria contas numeradas a partir de {@code firstNumber} com o saldo
+     * informado.
+     */
+    static void createAccounts(ConfigurableApplicationContext context, long firstNumber, int count,
+            long balance) {
+        var accounts = new ArrayList<Account>(count);
+        for (int i = 0; i < count; i++)
+            accounts.add(new Account("Conta " + i, firstNumber + i, balance, 0));
+
+        context.getBean(AccountRepository.class).saveAll(accounts);
+    }
+}
@@ -0,0 +1,42 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.edu.utfpr.bankapi.service.InterestCalculator;
+
+/**
+ * Custo do cálculo de juros compostos, incluindo o arredondamento com
+ * {@code BigDecimal}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InterestCalculatorBenchmark {
+
+    @Param({ "6", "30", "360" })
+    public int prazo;
+
+    // Campos não finais para que o JIT não trate os argumentos como constantes
+    public double valor = 1000;
+
+    public float taxa = 1.5f;
+
+    @Benchmark
+    public double calcularJuros() {
+        return InterestCalculator.calcularJuros(valor, taxa, prazo);
+    }
+}
@@ -0,0 +1,100 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Carga HTTP de depósitos com muitos clientes simultâneos, comparando o
+ * Tomcat com threads de plataforma e com threads virtuais mais a admissão
+ * limitada ao pool de conexões.
+ *
+ * O modo {@code SampleTime} informa os percentis de latência (p0.99). As
+ * threads virtuais só são usadas quando o benchmark roda em Java 21
+ * ({@code -Pjava21}); em Java 17 o modo {@code virtual} mede apenas o efeito
+ * da admissão.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(256)
+public class RequestThreadingBenchmark {
+
+    private static final long FIRST_NUMBER = 300_000;
+
+    private static final int ACCOUNTS = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        @Param({ "platform", "virtual" })
+        public String threads;
+
+        ConfigurableApplicationContext context;
+
+        HttpClient client;
+
+        URI deposit;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            var virtual = "virtual".equals(threads);
+
+            context = BenchmarkContext.startWeb(
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "bankapi.admission.enabled=" + virtual,
+                    "bankapi.admission.timeout-ms=30000");
+            BenchmarkContext.createAccounts(context, FIRST_NUMBER, ACCOUNTS, 0);
+
+            var port = context.getEnvironment().getProperty("local.server.port");
+            deposit = URI.create("http://localhost:" + port + "/transaction/deposit");
+
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(4))
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int deposit(Server server) throws Exception {
+        var number = FIRST_NUMBER + ThreadLocalRandom.current().nextInt(ACCOUNTS);
+        var body = "{\"receiverAccountNumber\":" + number + ",\"amount\":1}";
+
+        var request = HttpRequest.newBuilder(server.deposit)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return server.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
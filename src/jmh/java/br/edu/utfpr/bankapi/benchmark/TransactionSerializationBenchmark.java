@@ -0,0 +1,103 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Serialização JSON das respostas de transação: a entidade
+ * {@link Transaction} com as duas contas (a resposta antiga), a resposta
+ * {@link TransactionResponseDTO}, a linha de extrato e a leitura do
+ * {@link TransferDTO} recebido pela API.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionSerializationBenchmark {
+
+    private ObjectWriter transactionWriter;
+
+    private ObjectWriter responseWriter;
+
+    private ObjectWriter statementWriter;
+
+    private ObjectReader transferReader;
+
+    private Transaction transaction;
+
+    private StatementEntryDTO statementEntry;
+
+    private byte[] transferJson;
+
+    @Setup
+    public void setup() {
+        // Mesma configuração do ObjectMapper criado pelo Spring Boot
+        var mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        transactionWriter = mapper.writerFor(Transaction.class);
+        responseWriter = mapper.writerFor(TransactionResponseDTO.class);
+        statementWriter = mapper.writerFor(StatementEntryDTO.class);
+        transferReader = mapper.readerFor(TransferDTO.class);
+
+        var source = new Account("Lauro Lima", 12346, 100000, 50000);
+        source.setId(1);
+        var receiver = new Account("Maria da Silva", 12348, 25000, 0);
+        receiver.setId(2);
+
+        transaction = new Transaction(source, receiver, 12550, TransactionType.TRANSFER);
+        transaction.setId(42);
+
+        statementEntry = new StatementEntryDTO(42, TransactionType.TRANSFER, 12346L, 12348L, 12550,
+                transaction.getDateTime());
+
+        transferJson = "{\"sourceAccountNumber\":12346,\"receiverAccountNumber\":12348,\"amount\":125.5}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] escreverTransacao() throws Exception {
+        return transactionWriter.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] escreverResposta() throws Exception {
+        return responseWriter.writeValueAsBytes(TransactionResponseDTO.of(transaction));
+    }
+
+    @Benchmark
+    public byte[] escreverLinhaDeExtrato() throws Exception {
+        return statementWriter.writeValueAsBytes(statementEntry);
+    }
+
+    @Benchmark
+    public TransferDTO lerTransferencia() throws Exception {
+        return transferReader.readValue(transferJson);
+    }
+}
@@ -0,0 +1,80 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Caminho completo de depósito, saque e transferência no
+ * {@link TransactionService}, sem concorrência, sobre o H2 em memória:
+ * validações, transação JPA e gravação no banco.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    private static final long SOURCE = 200_000;
+
+    private static final long RECEIVER = 200_001;
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionService transactionService;
+
+    private final DepositDTO deposit = new DepositDTO(RECEIVER, 1);
+
+    private final WithdrawDTO withdraw = new WithdrawDTO(SOURCE, 1);
+
+    private final TransferDTO transfer = new TransferDTO(SOURCE, RECEIVER, 1);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        transactionService = context.getBean(TransactionService.class);
+
+        // Saldo suficiente para todas as iterações de saque e transferência
+        BenchmarkContext.createAccounts(context, SOURCE, 2, 1_000_000_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Transaction deposit() throws Exception {
+        return transactionService.deposit(deposit);
+    }
+
+    @Benchmark
+    public Transaction withdraw() throws Exception {
+        return transactionService.withdraw(withdraw);
+    }
+
+    @Benchmark
+    public Transaction transfer() throws Exception {
+        return transactionService.transfer(transfer);
+    }
+}
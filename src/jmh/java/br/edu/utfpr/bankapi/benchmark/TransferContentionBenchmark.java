@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+/**
+ * Compara as estratégias de concorrência em transferências simultâneas.
+ *
+ * Na distribuição {@code hot} todas as threads disputam poucas contas; na
+ * {@code cold} as transferências se espalham por muitas contas e quase não há
+ * conflito.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TransferContentionBenchmark {
+
+    private static final long FIRST_NUMBER = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Bank {
+
+        @Param({ "optimistic", "pessimistic" })
+        public String strategy;
+
+        @Param({ "hot", "cold" })
+        public String distribution;
+
+        ConfigurableApplicationContext context;
+
+        TransactionService transactionService;
+
+        int accounts;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            context = BenchmarkContext.start("bankapi.concurrency.strategy=" + strategy);
+            transactionService = context.getBean(TransactionService.class);
+
+            accounts = "hot".equals(distribution) ? 4 : 10_000;
+            BenchmarkContext.createAccounts(context, FIRST_NUMBER, accounts, 1_000_000_000);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    /**
+     * Transferências que esgotaram as tentativas por conflito de versão.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+        public long conflicts;
+    }
+
+    @Benchmark
+    public Object transfer(Bank bank, Conflicts counters) throws Exception {
+        var random = ThreadLocalRandom.current();
+        var source = FIRST_NUMBER + random.nextInt(bank.accounts);
+        var receiver = FIRST_NUMBER + random.nextInt(bank.accounts);
+
+        try {
+            return bank.transactionService.transfer(new TransferDTO(source, receiver, 1));
+        } catch (OptimisticLockingFailureException ex) {
+            counters.conflicts++;
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.edu.utfpr.bankapi.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.model.Account;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache de contas por número, limitado por tamanho e por tempo.
+ *
+ * Serve apenas as consultas de leitura ({@code GET /account/{number}}). As
+ * validações de saldo continuam lendo a conta do banco dentro da transação,
+ * então nunca decidem com um saldo em cache.
+ *
+ * Acertos, faltas e remoções são publicados como métricas {@code cache.*} com
+ * a tag {@code cache=accounts}.
+ */
+@Component
+public class AccountCache {
+
+    private static final int STRIPES = 1024;
+
+    private final Cache<Long, Account> cache;
+
+    /**
+     * Contador de invalidações por faixa de números. Uma leitura só permanece
+     * no cache se nenhuma invalidação da sua faixa aconteceu enquanto ela
+     * consultava o banco.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    public AccountCache(MeterRegistry meterRegistry,
+            @Value("${bankapi.account-cache.maximum-size:100000}") long maximumSize,
+            @Value("${bankapi.account-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+
+    /**
+     * Obtém a conta do cache ou, na falta, pelo {@code loader}. Contas
+     * inexistentes não são guardadas. A conta devolvida pode ser alterada
+     * livremente: o cache guarda a sua própria cópia.
+     */
+    public Optional<Account> get(long number, LongFunction<Optional<Account>> loader) {
+        var account = cache.getIfPresent(number);
+        if (account != null)
+            return Optional.of(copy(account));
+
+        var stripe = stripe(number);
+        var generation = generations.get(stripe);
+
+        var loaded = loader.apply(number);
+        if (loaded.isPresent()) {
+            cache.put(number, copy(loaded.get()));
+
+            // Uma escrita concorrente pode ter invalidado antes do put
+            if (generations.get(stripe) != generation)
+                cache.invalidate(number);
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Remove as contas do cache agora e, se houver uma transação em curso,
+     * novamente após o commit. A segunda remoção descarta o que uma leitura
+     * concorrente tenha carregado do banco antes do commit.
+     */
+    public void evictAfterCommit(long... numbers) {
+        invalidate(numbers);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(numbers);
+                }
+            });
+        }
+    }
+
+    private void invalidate(long... numbers) {
+        for (var number : numbers) {
+            generations.incrementAndGet(stripe(number));
+            cache.invalidate(number);
+        }
+    }
+
+    private static int stripe(long number) {
+        return Long.hashCode(number) & (STRIPES - 1);
+    }
+
+    private static Account copy(Account account) {
+        var copy = new Account();
+        BeanUtils.copyProperties(account, copy);
+        return copy;
+    }
+}
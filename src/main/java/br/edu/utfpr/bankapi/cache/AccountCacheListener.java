@@ -0,0 +1,31 @@
+package br.edu.utfpr.bankapi.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.model.Account;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Invalida o {@link AccountCache} sempre que uma conta é gravada pelo JPA,
+ * inclusive pelas alterações de saldo das transações.
+ *
+ * Atualizações em massa (JPQL ou JDBC) não passam por aqui e precisam
+ * invalidar o cache explicitamente.
+ */
+@Component
+public class AccountCacheListener {
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void evict(Account account) {
+        if (accountCache != null)
+            accountCache.evictAfterCommit(account.getNumber());
+    }
+}
@@ -0,0 +1,96 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admite no máximo tantas requisições simultâneas quanto o pool de conexões
+ * do banco comporta.
+ *
+ * Com threads virtuais o Tomcat aceita qualquer quantidade de requisições, e
+ * o excesso ficaria disputando conexões dentro do Hikari até o timeout. Aqui
+ * elas aguardam em fila (FIFO) em um semáforo, o que para uma thread virtual
+ * custa apenas memória; quem espera mais que {@code timeout-ms} recebe 503.
+ *
+ * Habilitado com {@code bankapi.admission.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.admission.enabled", havingValue = "true")
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    private final Semaphore permits;
+
+    private final long timeoutMillis;
+
+    public AdmissionFilter(DataSource dataSource,
+            @Value("${bankapi.admission.permits:0}") int permits,
+            @Value("${bankapi.admission.timeout-ms:1000}") long timeoutMillis) {
+        // Sem valor configurado, o limite é o tamanho máximo do pool
+        if (permits <= 0) {
+            var hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+            if (hikari == null)
+                throw new IllegalStateException("Informe bankapi.admission.permits");
+
+            // Sem maximum-pool-size configurado o Hikari só aplica o padrão ao
+            // iniciar o pool, depois da criação deste filtro
+            permits = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        }
+
+        this.permits = new Semaphore(permits, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Endpoints de monitoramento não usam o banco e não podem ficar na fila
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+/**
+ * Estratégia de controle de concorrência sobre as contas, definida pela
+ * propriedade {@code bankapi.concurrency.strategy}.
+ */
+public enum ConcurrencyStrategy {
+    /**
+     * Lê as contas sem bloqueio e confia no {@code @Version} da conta para
+     * detectar atualizações concorrentes, repetindo a operação em caso de
+     * conflito.
+     */
+    OPTIMISTIC,
+    /**
+     * Bloqueia as contas com {@code SELECT ... FOR UPDATE}, sempre na ordem
+     * crescente do número da conta para evitar deadlocks.
+     */
+    PESSIMISTIC;
+}
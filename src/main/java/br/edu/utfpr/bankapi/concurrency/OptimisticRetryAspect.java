@@ -0,0 +1,57 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Repete as operações anotadas com {@link RetryOnConflict} quando a versão de
+ * uma conta mudou entre a leitura e o commit.
+ *
+ * Executa antes do interceptador de transações, de modo que cada tentativa
+ * roda em uma transação nova. Chamadas que participam de uma transação já
+ * aberta não são repetidas aqui: quem abriu a transação é quem repete.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticRetryAspect {
+
+    @Value("${bankapi.concurrency.strategy:optimistic}")
+    private ConcurrencyStrategy strategy;
+
+    @Value("${bankapi.concurrency.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${bankapi.concurrency.backoff-micros:200}")
+    private long backoffMicros;
+
+    @Around("@annotation(br.edu.utfpr.bankapi.concurrency.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (strategy != ConcurrencyStrategy.OPTIMISTIC
+                || TransactionSynchronizationManager.isActualTransactionActive())
+            return joinPoint.proceed();
+
+        for (int attempt = 1;; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts)
+                    throw ex;
+
+                // Espera aleatória e crescente para desencontrar as tentativas
+                var bound = backoffMicros << Math.min(attempt - 1, 10);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(bound + 1) * 1000);
+            }
+        }
+    }
+}
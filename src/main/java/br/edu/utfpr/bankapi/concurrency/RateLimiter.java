@@ -0,0 +1,143 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.exception.RateLimitExceededException;
+import br.edu.utfpr.bankapi.util.LongLongHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Limites aplicados às operações antes de qualquer acesso ao banco: uma taxa
+ * por conta e uma quantidade máxima de operações simultâneas. O excedente é
+ * recusado na hora, sem fila, para que um cliente abusivo não ocupe conexões
+ * nem bloqueios de linha dos demais.
+ *
+ * A taxa por conta é um token bucket de {@code account-rate} operações por
+ * segundo, com rajadas de até {@code account-burst}. Os buckets ficam em
+ * {@code stripes} posições de um {@link AtomicLongArray}, escolhidas pelo
+ * número da conta, cada uma com um único {@code long}: o instante em que o
+ * bucket volta a estar cheio (GCRA). Consumir é um compare-and-set, sem
+ * bloqueio e sem objetos por conta; contas na mesma posição dividem o bucket.
+ *
+ * As recusas são contadas em {@code bankapi.rate-limit.rejected}, com a tag
+ * {@code limit} ({@code account} ou {@code concurrency}).
+ *
+ * Habilitado com {@code bankapi.rate-limit.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.rate-limit.enabled", havingValue = "true")
+public class RateLimiter {
+
+    /**
+     * Vaga de operação simultânea, devolvida ao fechar.
+     */
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final AtomicLongArray buckets;
+
+    private final int mask;
+
+    // Intervalo entre duas operações na taxa configurada
+    private final long emissionNanos;
+
+    // Quanto o instante de bucket cheio pode estar à frente do agora: a rajada
+    private final long toleranceNanos;
+
+    // Referência dos instantes guardados, para que o valor inicial zero
+    // signifique um bucket cheio
+    private final long origin = System.nanoTime();
+
+    private final Semaphore concurrency;
+
+    private final Permit permit;
+
+    private final Counter accountRejections;
+
+    private final Counter concurrencyRejections;
+
+    public RateLimiter(MeterRegistry meterRegistry,
+            @Value("${bankapi.rate-limit.account-rate:50}") double accountRate,
+            @Value("${bankapi.rate-limit.account-burst:100}") int accountBurst,
+            @Value("${bankapi.rate-limit.stripes:65536}") int stripes,
+            @Value("${bankapi.rate-limit.max-concurrent:100}") int maxConcurrent) {
+        if (accountRate <= 0 || accountBurst < 1 || stripes < 1 || maxConcurrent < 1)
+            throw new IllegalArgumentException("Limites de taxa inválidos");
+
+        var size = Integer.highestOneBit(stripes - 1) << 1;
+        buckets = new AtomicLongArray(Math.max(1, size));
+        mask = buckets.length() - 1;
+
+        emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / accountRate);
+        toleranceNanos = emissionNanos * (accountBurst - 1);
+
+        concurrency = new Semaphore(maxConcurrent);
+        permit = concurrency::release;
+
+        accountRejections = Counter.builder("bankapi.rate-limit.rejected").tag("limit", "account")
+                .register(meterRegistry);
+        concurrencyRejections = Counter.builder("bankapi.rate-limit.rejected").tag("limit", "concurrency")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ocupa uma vaga de operação simultânea e consome uma operação da taxa de
+     * cada conta. A vaga vem antes: uma operação recusada por falta de vaga
+     * não gasta a taxa das contas.
+     *
+     * @throws RateLimitExceededException se não houver vaga ou alguma conta
+     *                                    estiver acima da taxa
+     */
+    public Permit acquire(long... numbers) {
+        if (!concurrency.tryAcquire()) {
+            concurrencyRejections.increment();
+            throw new RateLimitExceededException("Too many concurrent operations", 1);
+        }
+
+        try {
+            for (var number : numbers)
+                consume(number);
+        } catch (RuntimeException ex) {
+            concurrency.release();
+            throw ex;
+        }
+
+        return permit;
+    }
+
+    private void consume(long number) {
+        var index = LongLongHashMap.hash(number) & mask;
+
+        while (true) {
+            var now = System.nanoTime() - origin;
+            var full = buckets.get(index);
+            var start = Math.max(full, now);
+
+            // O bucket estaria cheio em start; passar de toleranceNanos à
+            // frente do agora significa que a rajada já foi consumida
+            if (start - now > toleranceNanos) {
+                accountRejections.increment();
+                var wait = start - now - toleranceNanos;
+                throw new RateLimitExceededException("Too many operations for account " + number,
+                        Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+            }
+
+            if (buckets.compareAndSet(index, full, start + emissionNanos))
+                return;
+        }
+    }
+
+    int availablePermits() {
+        return concurrency.availablePermits();
+    }
+}
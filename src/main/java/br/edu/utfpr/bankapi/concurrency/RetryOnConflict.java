@@ -0,0 +1,18 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca uma operação transacional que deve ser repetida quando a estratégia
+ * {@link ConcurrencyStrategy#OPTIMISTIC} detectar um conflito de versão.
+ *
+ * A repetição envolve a transação inteira, por isso o método anotado precisa
+ * ser a fronteira da transação.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
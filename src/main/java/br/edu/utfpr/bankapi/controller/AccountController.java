@@ -1,34 +1,116 @@
 package br.edu.utfpr.bankapi.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.edu.utfpr.bankapi.dto.AccountDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
-import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.service.AccountImportService;
 import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.HotAccountService;
+import br.edu.utfpr.bankapi.service.StatementService;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/account")
 public class AccountController {
 
+    static final String NDJSON = "application/x-ndjson";
+
+    static final String CSV = "text/csv";
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Injeta o serviço para atuar com a Conta.
      */
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Autowired
+    private AccountImportService accountImportService;
+
+    /**
+     * Extrato da conta no intervalo {@code [from, to)}, da transação mais
+     * recente para a mais antiga, paginado pelo cabeçalho
+     * {@code X-Next-Cursor}.
+     */
+    @GetMapping("/{number}/transactions")
+    public ResponseEntity<Object> getTransactions(@PathVariable("number") long number,
+            @RequestParam(name = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        try {
+            var page = statementService.getPage(number, from, to, cursor, size);
+            var res = ResponseEntity.ok();
+
+            if (page.nextCursor() != null)
+                res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+
+            return res.body(page.transactions());
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Marca a conta como quente: os créditos passam a ser distribuídos em
+     * {@code slots} parcelas, incorporadas ao saldo periodicamente.
+     */
+    @PutMapping("/{number}/hot")
+    public ResponseEntity<Object> enableHot(@PathVariable("number") long number,
+            @RequestParam(name = "slots", required = false) Integer slots) {
+        try {
+            var res = slots == null ? hotAccountService.enable(number) : hotAccountService.enable(number, slots);
+            return ResponseEntity.ok(res);
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Volta a conta a comum, incorporando o que está nas parcelas.
+     */
+    @DeleteMapping("/{number}/hot")
+    public ResponseEntity<Object> disableHot(@PathVariable("number") long number) {
+        try {
+            return ResponseEntity.ok(hotAccountService.disable(number));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<Object> create(@RequestBody @Valid AccountDTO dto) {
         try {
@@ -39,6 +121,25 @@ public class AccountController {
         }
     }
 
+    /**
+     * Cria as contas de um arquivo CSV ({@code Content-Type: text/csv}) ou
+     * NDJSON, lido à medida que chega. Responde com as linhas rejeitadas e a
+     * vazão da importação.
+     */
+    @PostMapping(path = "/import", consumes = { CSV, NDJSON })
+    public ResponseEntity<Object> importAccounts(@RequestHeader("Content-Type") String contentType,
+            InputStream body) {
+        var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? AccountImportService.Format.CSV
+                : AccountImportService.Format.NDJSON;
+
+        try {
+            return ResponseEntity.ok(accountImportService.importAccounts(body, format));
+        } catch (IllegalArgumentException | IOException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Object> update(@PathVariable("id") long id, @RequestBody @Valid AccountDTO dto) {
         try {
@@ -51,9 +152,36 @@ public class AccountController {
         }
     }
 
+    /**
+     * Lista as contas em páginas ordenadas pelo número. Quando houver mais
+     * contas, o cabeçalho {@code X-Next-Cursor} traz o cursor da próxima
+     * página.
+     */
     @GetMapping
-    public List<Account> getAll() {
-        return accountService.getAll();
+    public ResponseEntity<Object> getAll(@RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "100") int size) {
+        try {
+            var page = accountService.getPage(cursor, size);
+            var res = ResponseEntity.ok();
+
+            if (page.nextCursor() != null)
+                res.header(NEXT_CURSOR_HEADER, page.nextCursor());
+
+            return res.body(page.accounts());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Todas as contas em NDJSON, escritas à medida que são lidas do banco
+     * ({@code Accept: application/x-ndjson}).
+     */
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(accountService::streamAll);
     }
 
     @GetMapping("/{number}")
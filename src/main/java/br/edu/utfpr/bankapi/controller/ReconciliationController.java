@@ -0,0 +1,42 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.service.ReconciliationService;
+
+@RestController
+@RequestMapping("/reconciliation")
+public class ReconciliationController {
+
+    @Autowired
+    private ReconciliationService reconciliationService;
+
+    /**
+     * Confere o saldo de todas as contas com as suas transações.
+     */
+    @GetMapping
+    public ResponseEntity<Object> reconcile() {
+        try {
+            return ResponseEntity.ok(reconciliationService.reconcile());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Corrige os saldos divergentes a partir das transações.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Object> rebuild() {
+        try {
+            return ResponseEntity.ok(reconciliationService.rebuild());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package br.edu.utfpr.bankapi.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.service.ReportService;
+
+@RestController
+@RequestMapping("/report")
+public class ReportController {
+
+    @Autowired
+    private ReportService reportService;
+
+    /**
+     * Volume diário por tipo de transação no intervalo {@code [from, to]}.
+     */
+    @GetMapping("/daily-volume")
+    public ResponseEntity<Object> dailyVolume(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(reportService.dailyVolume(from, to));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * Entradas e saídas mensais da conta entre os meses {@code from} e
+     * {@code to} (yyyy-MM).
+     */
+    @GetMapping("/account/{number}/monthly-flow")
+    public ResponseEntity<Object> monthlyFlow(@PathVariable("number") long number,
+            @RequestParam("from") String from, @RequestParam("to") String to) {
+        try {
+            return ResponseEntity.ok(reportService.monthlyFlow(number, from, to));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.edu.utfpr.bankapi.dto.ScheduledTransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/scheduled-transfer")
+public class ScheduledTransferController {
+
+    @Autowired
+    private ScheduledTransferService scheduledTransferService;
+
+    /**
+     * Agenda uma transferência única ou recorrente ({@code DAILY},
+     * {@code WEEKLY}, {@code MONTHLY}).
+     */
+    @PostMapping
+    public ResponseEntity<Object> create(@RequestBody @Valid ScheduledTransferDTO dto) {
+        try {
+            var res = scheduledTransferService.save(dto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (Exception ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        }
+    }
+
+    /**
+     * O agendamento, com a próxima execução e o resultado da última.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Object> get(@PathVariable("id") long id) {
+        try {
+            return ResponseEntity.ok(scheduledTransferService.get(id));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Object> cancel(@PathVariable("id") long id) {
+        try {
+            return ResponseEntity.ok(scheduledTransferService.cancel(id));
+        } catch (NotFoundException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+        } catch (OptimisticLockingFailureException ex) {
+            // Executado durante o cancelamento
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        }
+    }
+}
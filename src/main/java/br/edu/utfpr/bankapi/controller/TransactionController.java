@@ -1,53 +1,257 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.edu.utfpr.bankapi.concurrency.RateLimiter;
+import br.edu.utfpr.bankapi.dto.BatchDTO;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.exception.RateLimitExceededException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.service.DepositCoalescer;
+import br.edu.utfpr.bankapi.service.IdempotencyService;
+import br.edu.utfpr.bankapi.service.TransactionBatchService;
+import br.edu.utfpr.bankapi.service.TransactionExportService;
+import br.edu.utfpr.bankapi.service.TransactionResult;
 import br.edu.utfpr.bankapi.service.TransactionService;
+import br.edu.utfpr.bankapi.validations.Rejection;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/transaction")
 public class TransactionController {
 
+    /**
+     * Cabeçalho opcional: requisições repetidas com a mesma chave devolvem a
+     * transação da primeira execução, sem executá-la de novo.
+     */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 255;
+
+    // Resposta da recusa mais frequente, criada uma única vez
+    private static final ResponseEntity<Object> WITHOUT_BALANCE = ResponseEntity.badRequest()
+            .body(TransactionResult.WITHOUT_BALANCE.message());
+
+    private static final RateLimiter.Permit UNLIMITED = () -> {
+    };
+
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    /**
+     * Presente apenas com {@code bankapi.deposit-batch.enabled=true}.
+     */
+    @Autowired(required = false)
+    private DepositCoalescer depositCoalescer;
+
+    /**
+     * Presente apenas com {@code bankapi.rate-limit.enabled=true}.
+     */
+    @Autowired(required = false)
+    private RateLimiter rateLimiter;
+
+    /**
+     * Aplica os limites de taxa à conta debitada (ou creditada, no depósito),
+     * antes de qualquer acesso ao banco.
+     *
+     * O permit é usado em try-with-resources apenas para ser devolvido ao fim
+     * da operação; daí o {@code @SuppressWarnings("try")} nos endpoints.
+     */
+    private RateLimiter.Permit admit(long... numbers) {
+        return rateLimiter == null ? UNLIMITED : rateLimiter.acquire(numbers);
+    }
+
+    private static ResponseEntity<Object> tooManyRequests(RateLimitExceededException exception) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .body(exception.getMessage());
+    }
+
+    private TransactionResult execute(String key, TransactionType type, Object dto,
+            IdempotencyService.Operation operation) {
+        if (key == null)
+            return operation.execute();
+
+        if (key.isBlank() || key.length() > IDEMPOTENCY_KEY_MAX_LENGTH)
+            throw new IllegalArgumentException("Invalid " + IDEMPOTENCY_KEY_HEADER);
+
+        return idempotencyService.execute(key, type, dto, operation);
+    }
+
+    /**
+     * Converte o resultado em resposta: as recusas esperadas chegam como
+     * valor, sem exceção.
+     */
+    private static ResponseEntity<Object> response(TransactionResult result) {
+        if (result.isSuccess())
+            return ResponseEntity.status(HttpStatus.CREATED).body(TransactionResponseDTO.of(result.transaction()));
+
+        if (result.rejection() == Rejection.WITHOUT_BALANCE)
+            return WITHOUT_BALANCE;
+
+        return ResponseEntity.badRequest().body(result.message());
+    }
+
     @PostMapping("/transfer")
-    public ResponseEntity<Object> transfer(@RequestBody @Valid TransferDTO dto) {
-        try {
-            var res = transactionService.transfer(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+    @SuppressWarnings("try")
+    public ResponseEntity<Object> transfer(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String key,
+            @RequestBody @Valid TransferDTO dto) {
+        try (var permit = admit(dto.sourceAccountNumber())) {
+            return response(execute(key, TransactionType.TRANSFER, dto,
+                    () -> transactionService.tryTransfer(dto)));
+        } catch (RateLimitExceededException exception) {
+            return tooManyRequests(exception);
+        } catch (IdempotencyKeyReuseException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
+        } catch (OptimisticLockingFailureException exception) {
+            // Conflito persistiu mesmo após as novas tentativas
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<Object> deposit(@RequestBody @Valid DepositDTO dto) {
-        try {
-            var res = transactionService.deposit(dto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(res);
+    @SuppressWarnings("try")
+    public ResponseEntity<Object> deposit(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String key,
+            @RequestBody @Valid DepositDTO dto) {
+        try (var permit = admit(dto.receiverAccountNumber())) {
+            // Com Idempotency-Key o registro da chave precisa estar na mesma
+            // transação do depósito, então ele não entra em um lote
+            if (key == null && depositCoalescer != null)
+                return response(depositCoalescer.deposit(dto));
+
+            return response(execute(key, TransactionType.DEPOSIT, dto,
+                    () -> transactionService.tryDeposit(dto)));
+        } catch (RateLimitExceededException exception) {
+            return tooManyRequests(exception);
+        } catch (IdempotencyKeyReuseException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
+        } catch (OptimisticLockingFailureException exception) {
+            // Conflito persistiu mesmo após as novas tentativas
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<Object> withdraw(@RequestBody @Valid WithdrawDTO dto) {
-        try {
-            var res = transactionService.withdraw(dto);
+    @SuppressWarnings("try")
+    public ResponseEntity<Object> withdraw(@RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String key,
+            @RequestBody @Valid WithdrawDTO dto) {
+        try (var permit = admit(dto.sourceAccountNumber())) {
+            return response(execute(key, TransactionType.WITHDRAW, dto,
+                    () -> transactionService.tryWithdraw(dto)));
+        } catch (RateLimitExceededException exception) {
+            return tooManyRequests(exception);
+        } catch (IdempotencyKeyReuseException exception) {
+            return ResponseEntity.unprocessableEntity().body(exception.getMessage());
+        } catch (OptimisticLockingFailureException exception) {
+            // Conflito persistiu mesmo após as novas tentativas
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
+        } catch (Exception exception) {
+            return ResponseEntity.badRequest().body(exception.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    @SuppressWarnings("try")
+    public ResponseEntity<Object> batch(@RequestBody @Valid BatchDTO dto) {
+        // Os itens podem envolver qualquer quantidade de contas: só o limite
+        // de operações simultâneas é aplicado
+        try (var permit = admit()) {
+            var res = transactionBatchService.execute(dto);
             return ResponseEntity.status(HttpStatus.CREATED).body(res);
+        } catch (RateLimitExceededException exception) {
+            return tooManyRequests(exception);
+        } catch (BatchRejectedException exception) {
+            // Nenhum item foi gravado; o último resultado indica o item rejeitado
+            return ResponseEntity.badRequest().body(exception.getResults());
+        } catch (OptimisticLockingFailureException exception) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(exception.getMessage());
         } catch (Exception exception) {
             return ResponseEntity.badRequest().body(exception.getMessage());
         }
     }
+
+    /**
+     * Todas as transações do intervalo {@code [from, to)} em NDJSON
+     * ({@code Accept: application/x-ndjson}), escritas à medida que são lidas
+     * do banco. Comprimida com gzip se o cliente aceitar
+     * ({@code Accept-Encoding: gzip}).
+     */
+    @GetMapping(path = "/export", produces = AccountController.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(from, to, TransactionExportService.Format.NDJSON, AccountController.NDJSON, acceptEncoding);
+    }
+
+    /**
+     * Como {@link #exportNdjson}, em CSV com cabeçalho
+     * ({@code Accept: text/csv}).
+     */
+    @GetMapping(path = "/export", produces = AccountController.CSV)
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(from, to, TransactionExportService.Format.CSV, AccountController.CSV, acceptEncoding);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(LocalDateTime from, LocalDateTime to,
+            TransactionExportService.Format format, String contentType, String acceptEncoding) {
+        var gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+        try {
+            var body = transactionExportService.export(from, to, format, gzip);
+            var res = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+            if (gzip)
+                res.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+            return res.body(body);
+        } catch (IllegalArgumentException ex) {
+            // O corpo da resposta é sempre escrito como fluxo
+            var message = ex.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(message));
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package br.edu.utfpr.bankapi.dto;
 
+import br.edu.utfpr.bankapi.money.MoneyAmount;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
-public record AccountDTO(@NotBlank String name, @NotNull Long number, double balance, @Min(0) double specialLimit) {
+public record AccountDTO(@NotBlank String name, @NotNull Long number, @MoneyAmount long balance,
+        @MoneyAmount @Min(0) long specialLimit) {
 }
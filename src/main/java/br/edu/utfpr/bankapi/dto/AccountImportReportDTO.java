@@ -0,0 +1,14 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de contas.
+ *
+ * {@code errors} traz no máximo as primeiras linhas rejeitadas;
+ * {@code rejected} é o total. A vazão é em linhas por segundo, desde o início
+ * da leitura.
+ */
+public record AccountImportReportDTO(long rows, long imported, long rejected, long elapsedMillis,
+        long rowsPerSecond, List<ImportErrorDTO> errors) {
+}
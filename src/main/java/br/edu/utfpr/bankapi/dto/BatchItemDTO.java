@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
+
+/**
+ * Item de um lote: exatamente uma das operações deve ser informada.
+ */
+public record BatchItemDTO(TransferDTO transfer, DepositDTO deposit, WithdrawDTO withdraw) {
+
+    @JsonIgnore
+    @AssertTrue(message = "Informe exatamente uma operação por item")
+    public boolean isSingleOperation() {
+        int count = 0;
+        if (transfer != null)
+            count++;
+        if (deposit != null)
+            count++;
+        if (withdraw != null)
+            count++;
+        return count == 1;
+    }
+}
@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.model.Transaction;
+
+/**
+ * Resultado de um item do lote, na mesma posição em que foi enviado.
+ */
+public record BatchItemResultDTO(int index, boolean success, TransactionResponseDTO transaction, String error) {
+
+    public static BatchItemResultDTO success(int index, Transaction transaction) {
+        return new BatchItemResultDTO(index, true, TransactionResponseDTO.of(transaction), null);
+    }
+
+    public static BatchItemResultDTO failure(int index, String error) {
+        return new BatchItemResultDTO(index, false, null, error);
+    }
+}
@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Modo de execução de um lote de transações.
+ */
+public enum BatchMode {
+    /**
+     * Qualquer item rejeitado desfaz o lote inteiro.
+     */
+    ALL_OR_NOTHING,
+    /**
+     * Os itens rejeitados são reportados e os demais são gravados.
+     */
+    BEST_EFFORT;
+}
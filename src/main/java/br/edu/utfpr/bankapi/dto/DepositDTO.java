@@ -1,4 +1,6 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record DepositDTO(long receiverAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+
+public record DepositDTO(long receiverAccountNumber, @MoneyAmount long amount) {
 }
@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+
+/**
+ * Conta cujo saldo não corresponde às suas transações. O saldo inclui os
+ * créditos pendentes das contas quentes.
+ */
+public record DiscrepancyDTO(long number, @MoneyAmount long balance, @MoneyAmount long expected) {
+}
@@ -0,0 +1,8 @@
+package br.edu.utfpr.bankapi.dto;
+
+/**
+ * Linha rejeitada na importação de contas, pelo número da linha no arquivo
+ * (começando em 1).
+ */
+public record ImportErrorDTO(long line, String message) {
+}
@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da conferência dos saldos com as transações.
+ *
+ * {@code discrepancies} traz no máximo as primeiras contas divergentes pelo
+ * número; {@code discrepancyCount} é o total. Na reconstrução,
+ * {@code rebuilt} e {@code skipped} contam as contas corrigidas e as que
+ * mudaram desde a leitura e ficaram como estavam.
+ */
+public record ReconciliationReportDTO(long accounts, long transactions, long discrepancyCount,
+        List<DiscrepancyDTO> discrepancies, long rebuilt, long skipped) {
+}
@@ -0,0 +1,17 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.Recurrence;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Transferência a agendar. Sem {@code recurrence}, é executada uma única vez
+ * em {@code firstRunAt}; {@code endsAt} é opcional.
+ */
+public record ScheduledTransferDTO(long sourceAccountNumber, long receiverAccountNumber,
+        @MoneyAmount @Positive long amount, @NotNull LocalDateTime firstRunAt, Recurrence recurrence,
+        LocalDateTime endsAt) {
+}
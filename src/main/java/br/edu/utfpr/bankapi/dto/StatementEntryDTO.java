@@ -0,0 +1,14 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+
+/**
+ * Linha do extrato de uma conta: apenas os números das contas envolvidas, sem
+ * carregar as entidades {@code Account}.
+ */
+public record StatementEntryDTO(long id, TransactionType type, Long sourceAccountNumber,
+        Long receiverAccountNumber, @MoneyAmount long amount, LocalDateTime dateTime) {
+}
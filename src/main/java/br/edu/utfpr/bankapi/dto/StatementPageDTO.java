@@ -0,0 +1,10 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.util.List;
+
+/**
+ * Página do extrato, da transação mais recente para a mais antiga.
+ * {@code nextCursor} é nulo na última página.
+ */
+public record StatementPageDTO(List<StatementEntryDTO> transactions, String nextCursor) {
+}
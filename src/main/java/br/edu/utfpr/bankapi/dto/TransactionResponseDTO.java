@@ -0,0 +1,129 @@
+package br.edu.utfpr.bankapi.dto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+
+/**
+ * Resposta das operações: apenas os números das contas envolvidas, sem nome,
+ * limite nem saldo.
+ *
+ * Escrito por um serializador próprio, com os nomes dos campos já
+ * codificados, em vez do serializador de bean do Jackson, que percorre as
+ * propriedades do record a cada objeto.
+ */
+@JsonSerialize(using = TransactionResponseDTO.Serializer.class)
+public record TransactionResponseDTO(long id, TransactionType type, Long sourceAccountNumber,
+        Long receiverAccountNumber, @MoneyAmount long amount, LocalDateTime dateTime) {
+
+    public static TransactionResponseDTO of(Transaction transaction) {
+        return new TransactionResponseDTO(transaction.getId(), transaction.getType(),
+                numberOf(transaction.getSourceAccount()), numberOf(transaction.getReceiverAccount()),
+                transaction.getAmount(), transaction.getDateTime());
+    }
+
+    private static Long numberOf(Account account) {
+        return account == null ? null : account.getNumber();
+    }
+
+    /**
+     * Mesmo JSON que o Jackson produziria para o record: valor em reais e a
+     * data/hora pelo serializador configurado no {@code ObjectMapper}, obtido
+     * uma vez por writer. Os campos nulos são escritos como {@code null}.
+     */
+    public static class Serializer extends StdSerializer<TransactionResponseDTO> implements ContextualSerializer {
+
+        private static final SerializableString ID = new SerializedString("id");
+
+        private static final SerializableString TYPE = new SerializedString("type");
+
+        private static final SerializableString SOURCE = new SerializedString("sourceAccountNumber");
+
+        private static final SerializableString RECEIVER = new SerializedString("receiverAccountNumber");
+
+        private static final SerializableString AMOUNT = new SerializedString("amount");
+
+        private static final SerializableString DATE_TIME = new SerializedString("dateTime");
+
+        private static final SerializableString[] TYPES = new SerializableString[TransactionType.values().length];
+
+        static {
+            for (var type : TransactionType.values())
+                TYPES[type.ordinal()] = new SerializedString(type.name());
+        }
+
+        private final JsonSerializer<Object> dateTimeSerializer;
+
+        public Serializer() {
+            this(null);
+        }
+
+        private Serializer(JsonSerializer<Object> dateTimeSerializer) {
+            super(TransactionResponseDTO.class);
+            this.dateTimeSerializer = dateTimeSerializer;
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            return new Serializer(provider.findValueSerializer(LocalDateTime.class, property));
+        }
+
+        @Override
+        public void serialize(TransactionResponseDTO value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(value);
+
+            generator.writeFieldName(ID);
+            generator.writeNumber(value.id());
+
+            generator.writeFieldName(TYPE);
+            if (value.type() == null)
+                generator.writeNull();
+            else
+                generator.writeString(TYPES[value.type().ordinal()]);
+
+            generator.writeFieldName(SOURCE);
+            writeNumber(generator, value.sourceAccountNumber());
+
+            generator.writeFieldName(RECEIVER);
+            writeNumber(generator, value.receiverAccountNumber());
+
+            generator.writeFieldName(AMOUNT);
+            generator.writeNumber(Money.format(value.amount()));
+
+            generator.writeFieldName(DATE_TIME);
+            if (value.dateTime() == null)
+                generator.writeNull();
+            else if (dateTimeSerializer == null)
+                provider.defaultSerializeValue(value.dateTime(), generator);
+            else
+                dateTimeSerializer.serialize(value.dateTime(), generator, provider);
+
+            generator.writeEndObject();
+        }
+
+        private static void writeNumber(JsonGenerator generator, Long number) throws IOException {
+            if (number == null)
+                generator.writeNull();
+            else
+                generator.writeNumber(number);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.dto;
 
-public record WithdrawDTO(long sourceAccountNumber, double amount) {
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+
+public record WithdrawDTO(long sourceAccountNumber, @MoneyAmount long amount) {
     
 }
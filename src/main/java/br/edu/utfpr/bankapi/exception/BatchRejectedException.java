@@ -0,0 +1,23 @@
+package br.edu.utfpr.bankapi.exception;
+
+import java.util.List;
+
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
+
+/**
+ * Lote {@code ALL_OR_NOTHING} com algum item rejeitado. Por ser uma exceção
+ * não verificada, desfaz a transação do lote.
+ */
+public class BatchRejectedException extends RuntimeException {
+
+    private final transient List<BatchItemResultDTO> results;
+
+    public BatchRejectedException(List<BatchItemResultDTO> results) {
+        super("Batch rejected");
+        this.results = results;
+    }
+
+    public List<BatchItemResultDTO> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,7 @@
+package br.edu.utfpr.bankapi.exception;
+
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException() {
+        super("Idempotency-Key already used with a different request");
+    }
+}
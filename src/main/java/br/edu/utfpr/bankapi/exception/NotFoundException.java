@@ -2,10 +2,11 @@ package br.edu.utfpr.bankapi.exception;
 
 public class NotFoundException extends Exception {
     public NotFoundException() {
-        super("Not found");
+        this("Not found");
     }
 
     public NotFoundException(String message) {
-        super(message);
+        // Recusa de negócio: sem pilha, que só teria custo
+        super(message, null, false, false);
     }
 }
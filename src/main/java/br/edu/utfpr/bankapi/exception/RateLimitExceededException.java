@@ -0,0 +1,20 @@
+package br.edu.utfpr.bankapi.exception;
+
+/**
+ * Requisição recusada pelo limite de taxa da conta ou de operações
+ * simultâneas, antes de qualquer acesso ao banco.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        // Recusa esperada sob abuso: sem pilha, que só teria custo
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
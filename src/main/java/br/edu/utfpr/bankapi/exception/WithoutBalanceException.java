@@ -1,7 +1,10 @@
 package br.edu.utfpr.bankapi.exception;
 
 public class WithoutBalanceException extends RuntimeException {
+    public static final String MESSAGE = "No balance in account";
+
     public WithoutBalanceException() {
-        super("No balance in account");
+        // Recusa de negócio: sem pilha, que só teria custo
+        super(MESSAGE, null, false, false);
     }
 }
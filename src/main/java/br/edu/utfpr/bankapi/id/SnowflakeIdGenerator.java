@@ -0,0 +1,95 @@
+package br.edu.utfpr.bankapi.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Gerador de ids de 64 bits ordenados pelo tempo, no formato do Snowflake:
+ * 41 bits de milissegundos desde {@link #EPOCH}, 10 bits do nó e 12 bits de
+ * sequência dentro do mesmo milissegundo.
+ *
+ * Os ids são gerados na aplicação, sem ida ao banco, o que permite ao
+ * Hibernate agrupar os INSERTs em batch. Cada instância da aplicação deve ter
+ * um {@code bankapi.id.node} diferente.
+ *
+ * Não usa bloqueios: o último (milissegundo, sequência) fica em um único
+ * {@link AtomicLong}. Quando a sequência de um milissegundo se esgota, ou o
+ * relógio volta, o gerador avança sobre o milissegundo seguinte, então os
+ * ids de um nó nunca se repetem e são sempre crescentes.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    static final int NODE_BITS = 10;
+
+    static final int SEQUENCE_BITS = 12;
+
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final long EPOCH_MILLIS = EPOCH.toEpochMilli();
+
+    /**
+     * Instância usada pelo Hibernate, que cria os seus geradores fora do
+     * Spring. Há uma única por aplicação, para que a sequência seja
+     * compartilhada com os INSERTs feitos por JDBC.
+     */
+    private static volatile SnowflakeIdGenerator shared;
+
+    private final long node;
+
+    // (milissegundos desde EPOCH << SEQUENCE_BITS) | sequência
+    private final AtomicLong last = new AtomicLong();
+
+    public SnowflakeIdGenerator(@Value("${bankapi.id.node:0}") int node) {
+        if (node < 0 || node > MAX_NODE)
+            throw new IllegalArgumentException("bankapi.id.node deve estar entre 0 e " + MAX_NODE);
+
+        this.node = node;
+    }
+
+    @PostConstruct
+    void install() {
+        shared = this;
+    }
+
+    static SnowflakeIdGenerator shared() {
+        var generator = shared;
+        if (generator == null)
+            throw new IllegalStateException("SnowflakeIdGenerator ainda não foi criado pelo Spring");
+        return generator;
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous, next;
+
+        do {
+            previous = last.get();
+            // No mesmo milissegundo (ou com o relógio atrasado) incrementa a
+            // sequência, que transborda para o milissegundo seguinte
+            next = Math.max(now, previous + 1);
+        } while (!last.compareAndSet(previous, next));
+
+        return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | (node << SEQUENCE_BITS)
+                | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Menor id que pode ter sido gerado no instante informado, para consultas
+     * por intervalo de tempo sobre a chave primária.
+     */
+    public static long firstIdAt(Instant instant) {
+        var millis = Math.max(0, instant.toEpochMilli() - EPOCH_MILLIS);
+        return millis << (NODE_BITS + SEQUENCE_BITS);
+    }
+}
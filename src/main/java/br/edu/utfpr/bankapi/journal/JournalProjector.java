@@ -0,0 +1,170 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.model.JournalCheckpoint;
+import br.edu.utfpr.bankapi.repository.JournalCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Projeta o journal de transações nas tabelas {@code tb_transaction} e
+ * {@code tb_account}.
+ *
+ * Cada lote é gravado em uma única transação do banco junto com o
+ * {@link JournalCheckpoint}, então cada registro é projetado exatamente uma
+ * vez. Na inicialização, tudo o que está no journal e ainda não foi projetado
+ * é reaplicado antes de a aplicação aceitar requisições.
+ */
+@Component
+@ConditionalOnProperty(name = { "bankapi.ledger.enabled", "bankapi.journal.enabled" }, havingValue = "true")
+public class JournalProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalProjector.class);
+
+    private static final String INSERT_TRANSACTION = "insert into tb_transaction"
+            + " (id, type, source_account_id, receiver_account_id, amount, date_time) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE = "update tb_account"
+            + " set balance = balance + ?, version = version + 1 where id = ?";
+
+    private final TransactionJournal journal;
+
+    private final JournalCheckpointRepository checkpointRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final int batchSize;
+
+    private final ScheduledExecutorService scheduler;
+
+    private long projectedSequence;
+
+    public JournalProjector(TransactionJournal journal, JournalCheckpointRepository checkpointRepository,
+            JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, SnowflakeIdGenerator idGenerator,
+            @Value("${bankapi.journal.projector-batch-size:5000}") int batchSize,
+            @Value("${bankapi.journal.projector-interval-ms:100}") long intervalMillis) {
+        this.journal = journal;
+        this.checkpointRepository = checkpointRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idGenerator = idGenerator;
+        this.batchSize = batchSize;
+
+        // Reaplica o que o banco ainda não viu antes de liberar o ledger
+        projectedSequence = checkpointRepository.lastSequence();
+        var replayed = drain();
+        if (replayed > 0)
+            log.info("Journal: {} registros reaplicados no banco", replayed);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "journal-projector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::drainQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            // O checkpoint não avançou; o lote é refeito na próxima execução
+            log.error("Falha ao projetar o journal", ex);
+        }
+    }
+
+    /**
+     * Projeta tudo o que já está durável no journal.
+     *
+     * @return quantidade de registros projetados
+     */
+    synchronized int drain() {
+        var total = 0;
+
+        while (true) {
+            var records = new ArrayList<JournalRecord>(batchSize);
+            journal.read(projectedSequence + 1, batchSize, records::add);
+
+            if (records.isEmpty())
+                break;
+
+            project(records);
+            total += records.size();
+        }
+
+        try {
+            journal.release(projectedSequence);
+        } catch (IOException ex) {
+            log.warn("Não foi possível remover segmentos antigos do journal", ex);
+        }
+
+        return total;
+    }
+
+    private void project(List<JournalRecord> records) {
+        var rows = new ArrayList<Object[]>(records.size());
+        // Variação de saldo por conta no lote: um UPDATE por conta
+        Map<Long, Long> deltas = new HashMap<>();
+
+        for (var record : records) {
+            rows.add(new Object[] {
+                    idGenerator.nextId(),
+                    record.type().name(),
+                    record.sourceAccountId() == 0 ? null : record.sourceAccountId(),
+                    record.receiverAccountId() == 0 ? null : record.receiverAccountId(),
+                    record.amount(),
+                    Timestamp.valueOf(LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(record.epochMillis()), ZoneId.systemDefault())) });
+
+            if (record.sourceAccountId() != 0)
+                deltas.merge(record.sourceAccountId(), -record.amount(), Long::sum);
+            if (record.receiverAccountId() != 0)
+                deltas.merge(record.receiverAccountId(), record.amount(), Long::sum);
+        }
+
+        var balances = new ArrayList<Object[]>(deltas.size());
+        deltas.forEach((id, delta) -> balances.add(new Object[] { delta, id }));
+
+        var last = records.get(records.size() - 1).sequence();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+            jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances);
+            checkpointRepository.save(new JournalCheckpoint(JournalCheckpoint.ID, last));
+        });
+
+        projectedSequence = last;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        drain();
+    }
+}
@@ -0,0 +1,11 @@
+package br.edu.utfpr.bankapi.journal;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+
+/**
+ * Registro do journal. As contas são identificadas pelo id (zero quando não
+ * se aplica ao tipo da transação) e o valor está em centavos.
+ */
+public record JournalRecord(long sequence, TransactionType type, long sourceAccountId, long receiverAccountId,
+        long amount, long epochMillis) {
+}
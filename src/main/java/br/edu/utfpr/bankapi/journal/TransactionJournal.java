@@ -0,0 +1,421 @@
+package br.edu.utfpr.bankapi.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.JournalCheckpointRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Journal de transações em arquivos mapeados em memória, somente para
+ * inserção.
+ *
+ * Os registros têm tamanho fixo e ficam em segmentos de
+ * {@code records-per-segment} registros. A gravação no disco é feita em grupo
+ * por um thread próprio: quem insere aguarda o {@code force()} que cobre o
+ * seu registro, e um único {@code force()} confirma todos os registros
+ * inseridos desde o anterior.
+ *
+ * Uma falha na gravação no disco é definitiva: quem aguarda recebe a falha e
+ * novos registros são recusados até a aplicação ser reiniciada, quando o
+ * journal é recuperado a partir do último registro íntegro.
+ *
+ * Habilitado com {@code bankapi.journal.enabled=true}, junto com o ledger em
+ * memória.
+ */
+@Component
+@ConditionalOnProperty(name = { "bankapi.ledger.enabled", "bankapi.journal.enabled" }, havingValue = "true")
+public class TransactionJournal {
+
+    /*
+     * Layout de um registro:
+     * 0 sequência (long), 8 tipo (int), 12 checksum (int), 16 conta de origem
+     * (long), 24 conta de destino (long), 32 valor em centavos (long), 40 data/hora em
+     * milissegundos (long)
+     */
+    static final int RECORD_SIZE = 48;
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private record Segment(long firstSequence, Path path, MappedByteBuffer buffer) {
+    }
+
+    private final Path directory;
+
+    private final int recordsPerSegment;
+
+    private final long groupCommitNanos;
+
+    private final List<Segment> segments = new ArrayList<>();
+
+    // Protege segments, current e lastSequence
+    private final Object appendLock = new Object();
+
+    // Lock explícito em vez de monitor: quem espera pelo disco pode ser uma
+    // thread virtual, que ficaria presa à thread de plataforma em um wait()
+    private final ReentrantLock durableLock = new ReentrantLock();
+
+    private final Condition durableAdvanced = durableLock.newCondition();
+
+    private Segment current;
+
+    private long lastSequence;
+
+    private volatile long durableSequence;
+
+    private volatile boolean running = true;
+
+    // Falha de gravação no disco: a partir dela, o journal não aceita nem
+    // confirma registros
+    private volatile RuntimeException failure;
+
+    private final Thread flusher;
+
+    public TransactionJournal(JournalCheckpointRepository checkpointRepository,
+            @Value("${bankapi.journal.directory:journal}") Path directory,
+            @Value("${bankapi.journal.records-per-segment:1048576}") int recordsPerSegment,
+            @Value("${bankapi.journal.group-commit-micros:200}") long groupCommitMicros) throws IOException {
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        this.groupCommitNanos = groupCommitMicros * 1000;
+
+        Files.createDirectories(directory);
+        recover(checkpointRepository.lastSequence());
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Reabre os segmentos existentes e localiza o último registro íntegro.
+     * Com o diretório vazio, a numeração continua a partir do que já foi
+     * projetado no banco.
+     */
+    private void recover(long projectedSequence) throws IOException {
+        try (var files = Files.list(directory)) {
+            var paths = files
+                    .filter(path -> path.getFileName().toString().matches("journal-\\d{20}\\.log"))
+                    .sorted()
+                    .toList();
+
+            for (var path : paths) {
+                var name = path.getFileName().toString();
+                var firstSequence = Long.parseLong(name.substring(8, 28));
+                segments.add(new Segment(firstSequence, path, map(path)));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            current = createSegment(projectedSequence + 1);
+            lastSequence = projectedSequence;
+        } else {
+            current = segments.get(segments.size() - 1);
+            lastSequence = current.firstSequence() - 1;
+
+            // Registros incompletos no fim do segmento são descartados
+            for (int i = 0; i < recordsPerSegment; i++) {
+                var offset = i * RECORD_SIZE;
+                var sequence = current.buffer().getLong(offset);
+                if (sequence != current.firstSequence() + i || !valid(current.buffer(), offset))
+                    break;
+                lastSequence = sequence;
+            }
+        }
+
+        durableSequence = lastSequence;
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        }
+    }
+
+    private Segment createSegment(long firstSequence) throws IOException {
+        var path = directory.resolve(String.format("journal-%020d.log", firstSequence));
+        var segment = new Segment(firstSequence, path, map(path));
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Insere um registro e devolve a sua sequência. O registro só é durável
+     * depois de {@link #awaitDurable(long)}.
+     */
+    public long append(TransactionType type, long sourceAccountId, long receiverAccountId, long amount,
+            long epochMillis) {
+        synchronized (appendLock) {
+            checkFailure();
+            var sequence = lastSequence + 1;
+
+            if (sequence - current.firstSequence() >= recordsPerSegment) {
+                // O segmento cheio é gravado por completo antes de abrir o próximo
+                try {
+                    force(current.buffer());
+                    current = createSegment(sequence);
+                } catch (IOException ex) {
+                    throw failed(new UncheckedIOException(ex));
+                } catch (RuntimeException ex) {
+                    throw failed(ex);
+                }
+            }
+
+            var buffer = current.buffer();
+            var offset = (int) (sequence - current.firstSequence()) * RECORD_SIZE;
+            buffer.putInt(offset + 8, type.ordinal());
+            buffer.putInt(offset + 12,
+                    checksum(sequence, type.ordinal(), sourceAccountId, receiverAccountId, amount, epochMillis));
+            buffer.putLong(offset + 16, sourceAccountId);
+            buffer.putLong(offset + 24, receiverAccountId);
+            buffer.putLong(offset + 32, amount);
+            buffer.putLong(offset + 40, epochMillis);
+            buffer.putLong(offset, sequence);
+
+            lastSequence = sequence;
+            appendLock.notifyAll();
+
+            return sequence;
+        }
+    }
+
+    /**
+     * Bloqueia até que o registro informado esteja gravado no disco.
+     *
+     * @throws IllegalStateException se a gravação no disco falhou: o registro
+     *                               pode não ser durável
+     */
+    public void awaitDurable(long sequence) {
+        if (durableSequence >= sequence)
+            return;
+
+        durableLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                checkFailure();
+                if (!running)
+                    throw new IllegalStateException("Journal encerrado");
+                durableAdvanced.await();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                synchronized (appendLock) {
+                    while (running && lastSequence == durableSequence)
+                        appendLock.wait();
+                }
+
+                // Dá tempo para que mais registros entrem no mesmo force()
+                if (groupCommitNanos > 0)
+                    Thread.sleep(groupCommitNanos / 1_000_000, (int) (groupCommitNanos % 1_000_000));
+
+                flush();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // Não há como saber o que chegou ao disco: quem aguarda é
+                // avisado e nada mais é confirmado
+                failed(ex);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registra a falha de gravação e acorda quem aguarda o disco.
+     */
+    private RuntimeException failed(RuntimeException ex) {
+        if (failure == null) {
+            failure = ex;
+            log.error("Falha ao gravar o journal; novas operações serão recusadas", ex);
+        }
+
+        durableLock.lock();
+        try {
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+
+        return ex;
+    }
+
+    private void checkFailure() {
+        if (failure != null)
+            throw new IllegalStateException("Falha ao gravar o journal", failure);
+    }
+
+    /**
+     * Grava no disco as alterações do segmento.
+     */
+    void force(MappedByteBuffer buffer) {
+        buffer.force();
+    }
+
+    private synchronized void flush() {
+        long target;
+        List<Segment> dirty;
+
+        synchronized (appendLock) {
+            target = lastSequence;
+            dirty = segmentsFrom(durableSequence + 1);
+        }
+
+        for (var segment : dirty)
+            force(segment.buffer());
+
+        durableLock.lock();
+        try {
+            if (target > durableSequence)
+                durableSequence = target;
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    /**
+     * Segmentos que contêm registros a partir da sequência informada. Deve ser
+     * chamado com {@code appendLock}.
+     */
+    private List<Segment> segmentsFrom(long sequence) {
+        var result = new ArrayList<Segment>(2);
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            var segment = segments.get(i);
+            result.add(0, segment);
+            if (segment.firstSequence() <= sequence)
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Lê até {@code max} registros duráveis a partir da sequência informada.
+     *
+     * @return quantidade de registros lidos
+     */
+    public int read(long fromSequence, int max, Consumer<JournalRecord> consumer) {
+        List<Segment> snapshot;
+        synchronized (appendLock) {
+            snapshot = segmentsFrom(fromSequence);
+        }
+
+        var until = durableSequence;
+        var count = 0;
+
+        for (var segment : snapshot) {
+            var sequence = Math.max(fromSequence, segment.firstSequence());
+            var end = Math.min(until, segment.firstSequence() + recordsPerSegment - 1);
+
+            for (; sequence <= end && count < max; sequence++, count++) {
+                var buffer = segment.buffer();
+                var offset = (int) (sequence - segment.firstSequence()) * RECORD_SIZE;
+
+                consumer.accept(new JournalRecord(
+                        buffer.getLong(offset),
+                        TYPES[buffer.getInt(offset + 8)],
+                        buffer.getLong(offset + 16),
+                        buffer.getLong(offset + 24),
+                        buffer.getLong(offset + 32),
+                        buffer.getLong(offset + 40)));
+            }
+            fromSequence = sequence;
+
+            if (count >= max)
+                break;
+        }
+
+        return count;
+    }
+
+    /**
+     * Remove os segmentos cujos registros já foram todos projetados no banco.
+     * O segmento corrente nunca é removido.
+     */
+    public void release(long projectedSequence) throws IOException {
+        var removed = new ArrayList<Segment>();
+
+        synchronized (appendLock) {
+            while (segments.size() > 1
+                    && segments.get(0).firstSequence() + recordsPerSegment - 1 <= projectedSequence)
+                removed.add(segments.remove(0));
+        }
+
+        for (var segment : removed)
+            Files.deleteIfExists(segment.path());
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    private static boolean valid(MappedByteBuffer buffer, int offset) {
+        var type = buffer.getInt(offset + 8);
+        return type >= 0 && type < TYPES.length
+                && buffer.getInt(offset + 12) == checksum(buffer.getLong(offset), type,
+                        buffer.getLong(offset + 16), buffer.getLong(offset + 24), buffer.getLong(offset + 32),
+                        buffer.getLong(offset + 40));
+    }
+
+    private static int checksum(long sequence, int type, long source, long receiver, long amount,
+            long epochMillis) {
+        long hash = sequence * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ type) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ source) * 0x94D049BB133111EBL;
+        hash = (hash ^ receiver) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ amount) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ epochMillis) * 0x94D049BB133111EBL;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (failure == null) {
+            try {
+                flush();
+            } catch (RuntimeException ex) {
+                failed(ex);
+            }
+        }
+        running = false;
+        synchronized (appendLock) {
+            appendLock.notifyAll();
+        }
+        durableLock.lock();
+        try {
+            durableAdvanced.signalAll();
+        } finally {
+            durableLock.unlock();
+        }
+        flusher.join(10_000);
+    }
+}
@@ -0,0 +1,360 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.time.ZoneId;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.journal.JournalProjector;
+import br.edu.utfpr.bankapi.journal.TransactionJournal;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Motor de ledger em memória.
+ *
+ * As contas são particionadas pelo número entre N partições. Cada partição
+ * tem um único thread que aplica as operações em sequência e mantém os saldos
+ * em memória; a gravação no banco é feita em segundo plano pelo
+ * {@link LedgerPersister} ou, com {@code bankapi.journal.enabled=true}, pelo
+ * {@link TransactionJournal}: nesse caso a operação só é confirmada depois que
+ * o registro está gravado no journal.
+ *
+ * Habilitado com a propriedade {@code bankapi.ledger.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "bankapi.ledger.enabled", havingValue = "true")
+public class LedgerEngine {
+
+    private final LedgerShard[] shards;
+
+    /**
+     * Operação aplicada por uma partição e a sua sequência no journal (zero
+     * sem journal).
+     */
+    private record Entry(Transaction transaction, long sequence) {
+    }
+
+    /**
+     * Débito da primeira etapa de uma transferência entre partições: a conta
+     * mantida pela partição, alterada somente no thread dela, e uma cópia.
+     */
+    private record Debit(Account account, Account snapshot) {
+    }
+
+    private final LedgerPersister persister;
+
+    private final TransactionJournal journal;
+
+    private final AvailableBalanceValidation availableBalanceValidation;
+
+    private final AccountRepository accountRepository;
+
+    public LedgerEngine(AvailableAccountValidation availableAccountValidation,
+            AvailableBalanceValidation availableBalanceValidation,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<TransactionJournal> journalProvider,
+            ObjectProvider<JournalProjector> projectorProvider,
+            @Value("${bankapi.ledger.shards:0}") int shardCount,
+            @Value("${bankapi.ledger.flush-interval-ms:50}") long flushIntervalMillis) {
+        this.availableBalanceValidation = availableBalanceValidation;
+        this.accountRepository = accountRepository;
+
+        if (shardCount <= 0)
+            shardCount = Runtime.getRuntime().availableProcessors();
+
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++)
+            shards[i] = new LedgerShard(i, availableAccountValidation);
+
+        journal = journalProvider.getIfAvailable();
+
+        if (journal != null) {
+            // Obtido aqui para que o journal seja reaplicado no banco antes de
+            // as partições carregarem qualquer saldo
+            projectorProvider.getObject();
+            persister = null;
+        } else {
+            persister = new LedgerPersister(transactionRepository, accountRepository, transactionManager,
+                    flushIntervalMillis);
+        }
+    }
+
+    LedgerShard shardOf(long number) {
+        return shards[(int) Math.floorMod(number, (long) shards.length)];
+    }
+
+    public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        var sourceShard = shardOf(dto.sourceAccountNumber());
+        var receiverShard = shardOf(dto.receiverAccountNumber());
+
+        if (sourceShard == receiverShard) {
+            return durable(sourceShard.submit(() -> {
+                var source = sourceShard.account(dto.sourceAccountNumber());
+                var receiver = sourceShard.account(dto.receiverAccountNumber());
+
+                var transaction = new Transaction(source, receiver, dto.amount(), TransactionType.TRANSFER);
+                availableBalanceValidation.validate(transaction);
+
+                source.setBalance(source.getBalance() - dto.amount());
+                receiver.setBalance(receiver.getBalance() + dto.amount());
+
+                return record(transaction, source, receiver);
+            }));
+        }
+
+        // Garante que a conta de destino existe antes de debitar a origem
+        await(receiverShard.submit(() -> receiverShard.account(dto.receiverAccountNumber())));
+
+        // Sem journal, nenhuma descarga do persister acontece entre o débito e
+        // o crédito: o saldo debitado é gravado junto com a transação, ou
+        // nenhum dos dois. Com o journal, o débito só chega ao banco pelo
+        // registro da transação, gravado na última etapa
+        if (persister != null)
+            persister.begin();
+        try {
+            var debited = await(sourceShard.submit(() -> {
+                var source = sourceShard.account(dto.sourceAccountNumber());
+
+                var transaction = new Transaction(source, null, dto.amount(), TransactionType.TRANSFER);
+                availableBalanceValidation.validate(transaction);
+
+                source.setBalance(source.getBalance() - dto.amount());
+                if (persister != null)
+                    persister.balance(source);
+
+                return new Debit(source, LedgerShard.snapshot(source));
+            }));
+
+            Entry entry;
+            try {
+                entry = await(receiverShard.submit(() -> {
+                    var receiver = receiverShard.account(dto.receiverAccountNumber());
+                    receiver.setBalance(receiver.getBalance() + dto.amount());
+
+                    var transaction = new Transaction(debited.snapshot(), receiver, dto.amount(),
+                            TransactionType.TRANSFER);
+                    return record(transaction, receiver);
+                }));
+            } catch (NotFoundException | RuntimeException ex) {
+                // A conta de destino deixou de existir com esse número depois
+                // da verificação (por exemplo, foi renumerada): desfaz o débito
+                await(refund(sourceShard, debited.account(), dto.amount()));
+                throw ex;
+            }
+
+            return durable(entry);
+        } finally {
+            if (persister != null)
+                persister.end();
+        }
+    }
+
+    public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        var shard = shardOf(dto.receiverAccountNumber());
+
+        return durable(shard.submit(() -> {
+            var receiver = shard.account(dto.receiverAccountNumber());
+            receiver.setBalance(receiver.getBalance() + dto.amount());
+
+            var transaction = new Transaction(null, receiver, dto.amount(), TransactionType.DEPOSIT);
+            return record(transaction, receiver);
+        }));
+    }
+
+    public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        var shard = shardOf(dto.sourceAccountNumber());
+
+        return durable(shard.submit(() -> {
+            var source = shard.account(dto.sourceAccountNumber());
+
+            var transaction = new Transaction(source, null, dto.amount(), TransactionType.WITHDRAW);
+            availableBalanceValidation.validate(transaction);
+
+            source.setBalance(source.getBalance() - dto.amount());
+            return record(transaction, source);
+        }));
+    }
+
+    /**
+     * Devolve à conta um valor debitado por uma transferência que não foi
+     * concluída. Se a conta foi renumerada nesse meio tempo, ela já está em
+     * outra partição e o crédito é feito no thread dela.
+     */
+    private CompletableFuture<Void> refund(LedgerShard shard, Account account, long amount) {
+        return shard.submit(() -> {
+            var owner = shardOf(account.getNumber());
+            if (shard.cached(account.getNumber()) != account && owner != shard)
+                return refund(owner, account, amount);
+
+            account.setBalance(account.getBalance() + amount);
+            if (persister != null)
+                persister.balance(account);
+
+            return CompletableFuture.<Void>completedFuture(null);
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Saldo mantido em memória para a conta, se ela já foi carregada pelo
+     * ledger.
+     */
+    public OptionalLong balanceOf(long number) {
+        var shard = shardOf(number);
+
+        return shard.submit(() -> {
+            var account = shard.cached(number);
+            return account == null ? OptionalLong.empty() : OptionalLong.of(account.getBalance());
+        }).join();
+    }
+
+    /**
+     * Atualiza os dados cadastrais da conta no thread da partição dona dela.
+     * O saldo não é gravado por aqui: ele continua sendo do ledger.
+     */
+    public Account update(long number, AccountDTO dto) throws NotFoundException {
+        var shard = shardOf(number);
+
+        return await(shard.submit(() -> {
+            var res = accountRepository.getByNumber(number);
+
+            if (res.isEmpty())
+                throw new NotFoundException();
+
+            var account = res.get();
+            accountRepository.updateDetails(account.getId(), dto.name(), dto.number(), dto.specialLimit());
+
+            account.setName(dto.name());
+            account.setNumber(dto.number());
+            account.setSpecialLimit(dto.specialLimit());
+
+            var cached = shard.cached(number);
+            if (cached != null) {
+                account.setBalance(cached.getBalance());
+                cached.setName(dto.name());
+                cached.setNumber(dto.number());
+                cached.setSpecialLimit(dto.specialLimit());
+
+                if (dto.number() != number) {
+                    // A conta passa para a partição do novo número, com o saldo em memória
+                    shard.evict(number);
+                    var target = shardOf(dto.number());
+                    target.submit(() -> {
+                        target.adopt(cached);
+                        return null;
+                    });
+                }
+            }
+
+            return account;
+        }));
+    }
+
+    /**
+     * Envia a transação para persistência e devolve uma cópia desacoplada das
+     * contas mantidas pela partição.
+     */
+    private Entry record(Transaction transaction, Account... changed) {
+        var persisted = new Transaction(
+                snapshotOf(transaction.getSourceAccount()),
+                snapshotOf(transaction.getReceiverAccount()),
+                transaction.getAmount(), transaction.getType());
+        persisted.setDateTime(transaction.getDateTime());
+
+        var sequence = 0L;
+        if (journal != null) {
+            sequence = journal.append(persisted.getType(),
+                    idOf(persisted.getSourceAccount()), idOf(persisted.getReceiverAccount()),
+                    persisted.getAmount(),
+                    persisted.getDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        } else {
+            for (var account : changed)
+                persister.balance(account);
+            persister.transaction(persisted);
+        }
+
+        var response = new Transaction();
+        BeanUtils.copyProperties(persisted, response);
+        return new Entry(response, sequence);
+    }
+
+    private static long idOf(Account account) {
+        return account == null ? 0 : account.getId();
+    }
+
+    private static Account snapshotOf(Account account) {
+        return account == null ? null : LedgerShard.snapshot(account);
+    }
+
+    /**
+     * Aguarda o resultado de uma operação, relançando as exceções de negócio
+     * da mesma forma que o fluxo síncrono do {@code TransactionService}.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws NotFoundException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            var cause = ex.getCause();
+
+            if (cause instanceof NotFoundException notFound)
+                throw notFound;
+            if (cause instanceof RuntimeException runtime)
+                throw runtime;
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Aguarda a operação e, com o journal ativo, a gravação do seu registro
+     * no disco. A espera acontece fora do thread da partição, que segue
+     * aplicando as próximas operações.
+     */
+    private Transaction durable(CompletableFuture<Entry> future) throws NotFoundException {
+        return durable(await(future));
+    }
+
+    private Transaction durable(Entry entry) {
+        if (entry.sequence() > 0)
+            journal.awaitDurable(entry.sequence());
+
+        return entry.transaction();
+    }
+
+    /**
+     * Força a gravação imediata do que está pendente.
+     */
+    void flush() {
+        if (persister != null)
+            persister.flush();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (var shard : shards)
+            shard.shutdown();
+
+        if (persister != null)
+            persister.shutdown();
+    }
+}
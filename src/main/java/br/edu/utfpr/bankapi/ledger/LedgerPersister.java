@@ -0,0 +1,146 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+/**
+ * Persiste em segundo plano as transações e os saldos produzidos pelas
+ * partições do ledger.
+ *
+ * Para cada conta é mantido apenas o último saldo conhecido, então várias
+ * operações sobre a mesma conta viram um único UPDATE por descarga.
+ */
+class LedgerPersister {
+
+    private static final int MAX_BATCH = 10_000;
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerPersister.class);
+
+    private final ConcurrentLinkedDeque<Transaction> transactions = new ConcurrentLinkedDeque<>();
+
+    private final Map<Long, Long> balances = new ConcurrentHashMap<>();
+
+    private final TransactionRepository transactionRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledExecutorService scheduler;
+
+    // Operações em andamento com mais de uma etapa (leitura) e descargas
+    // (escrita): uma descarga nunca grava uma operação pela metade
+    private final ReentrantReadWriteLock operations = new ReentrantReadWriteLock();
+
+    LedgerPersister(TransactionRepository transactionRepository, AccountRepository accountRepository,
+            PlatformTransactionManager transactionManager, long flushIntervalMillis) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "ledger-persister");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra o saldo atual da conta. Deve ser chamado pelo thread da
+     * partição dona da conta, para que o último valor registrado seja sempre
+     * o mais recente.
+     */
+    void balance(Account account) {
+        balances.put(account.getId(), account.getBalance());
+    }
+
+    /**
+     * Registra uma transação aplicada pelo ledger.
+     */
+    void transaction(Transaction transaction) {
+        transactions.add(transaction);
+    }
+
+    /**
+     * Início de uma operação cujas alterações são registradas em mais de uma
+     * etapa, possivelmente por partições diferentes. Até o {@link #end()}
+     * correspondente, chamado pelo mesmo thread, nenhuma descarga acontece.
+     */
+    void begin() {
+        operations.readLock().lock();
+    }
+
+    void end() {
+        operations.readLock().unlock();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // O que não foi gravado permanece pendente para a próxima descarga
+            log.error("Falha ao persistir o ledger", ex);
+        }
+    }
+
+    /**
+     * Grava em uma única transação do banco tudo o que está pendente.
+     */
+    synchronized void flush() {
+        if (transactions.isEmpty() && balances.isEmpty())
+            return;
+
+        var batch = new ArrayList<Transaction>();
+        HashMap<Long, Long> snapshot;
+
+        operations.writeLock().lock();
+        try {
+            Transaction transaction;
+            while (batch.size() < MAX_BATCH && (transaction = transactions.poll()) != null)
+                batch.add(transaction);
+
+            snapshot = new HashMap<>(balances);
+        } finally {
+            operations.writeLock().unlock();
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionRepository.saveAll(batch);
+                snapshot.forEach(accountRepository::updateBalance);
+            });
+        } catch (RuntimeException ex) {
+            // Devolve as transações para o início da fila, na ordem original
+            for (int i = batch.size() - 1; i >= 0; i--)
+                transactions.addFirst(batch.get(i));
+            throw ex;
+        }
+
+        // Remove apenas os saldos que não mudaram durante a descarga
+        snapshot.forEach(balances::remove);
+    }
+
+    void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+}
@@ -0,0 +1,116 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.BeanUtils;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+/**
+ * Partição do ledger: um único thread aplica, em ordem, as operações das
+ * contas que pertencem a esta partição.
+ *
+ * O mapa de contas só é acessado pelo thread da partição, por isso não
+ * precisa de sincronização.
+ */
+class LedgerShard {
+
+    private final ThreadPoolExecutor executor;
+
+    private final AvailableAccountValidation availableAccountValidation;
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+
+    LedgerShard(int index, AvailableAccountValidation availableAccountValidation) {
+        this.availableAccountValidation = availableAccountValidation;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    var thread = new Thread(runnable, "ledger-shard-" + index);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Enfileira uma operação para execução no thread da partição.
+     */
+    <T> CompletableFuture<T> submit(Callable<T> operation) {
+        var future = new CompletableFuture<T>();
+        executor.execute(() -> {
+            try {
+                future.complete(operation.call());
+            } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Obtém a conta mantida em memória, carregando-a do banco no primeiro
+     * acesso. Deve ser chamado somente no thread da partição.
+     */
+    Account account(long number) throws NotFoundException {
+        var account = accounts.get(number);
+
+        if (account == null) {
+            account = availableAccountValidation.validate(number);
+            accounts.put(number, account);
+        }
+
+        return account;
+    }
+
+    /**
+     * Conta em memória, sem consultar o banco. Deve ser chamado somente no
+     * thread da partição.
+     */
+    Account cached(long number) {
+        return accounts.get(number);
+    }
+
+    /**
+     * Remove a conta da memória. Deve ser chamado somente no thread da
+     * partição.
+     */
+    void evict(long number) {
+        accounts.remove(number);
+    }
+
+    /**
+     * Passa a manter em memória uma conta recebida de outra partição. Deve ser
+     * chamado somente no thread da partição.
+     */
+    void adopt(Account account) {
+        accounts.put(account.getNumber(), account);
+    }
+
+    /**
+     * Operações aguardando o thread da partição.
+     */
+    int pending() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Cópia da conta para ser entregue fora do thread da partição.
+     */
+    static Account snapshot(Account account) {
+        var copy = new Account();
+        BeanUtils.copyProperties(account, copy);
+        return copy;
+    }
+
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
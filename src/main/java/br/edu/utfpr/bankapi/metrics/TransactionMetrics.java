@@ -0,0 +1,118 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Histogramas de latência das operações de transação, expostos em
+ * {@code /actuator/metrics}:
+ * <ul>
+ * <li>{@code bankapi.transaction}: a operação inteira, incluindo o commit,
+ * com as tags {@code operation} e {@code outcome};</li>
+ * <li>{@code bankapi.transaction.phase}: cada fase da operação, com a tag
+ * {@code phase} além das anteriores.</li>
+ * </ul>
+ *
+ * A contagem de cada timer dá a vazão. Os timers são criados no primeiro uso
+ * de cada combinação de tags e guardados em vetores, para que o registro de
+ * uma medição não precise procurá-los no {@link MeterRegistry}.
+ */
+@Component
+public class TransactionMetrics {
+
+    public enum Operation {
+        TRANSFER, DEPOSIT, WITHDRAW
+    }
+
+    public enum Phase {
+        /** Validação e obtenção (e bloqueio, se pessimista) das contas */
+        LOOKUP,
+        /** Validação do saldo disponível */
+        VALIDATION,
+        /** Gravação da transação e dos saldos no contexto de persistência */
+        PERSISTENCE,
+        /** Flush e commit da transação do banco */
+        COMMIT
+    }
+
+    public enum Outcome {
+        SUCCESS,
+        /** {@code WithoutBalanceException} */
+        WITHOUT_BALANCE,
+        /** {@code NotFoundException} */
+        NOT_FOUND,
+        /** Conflito de versão ou de bloqueio durante a operação */
+        CONFLICT,
+        /** Falha no commit, por exemplo conflito de versão detectado no flush */
+        COMMIT_FAILED,
+        ERROR
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final MeterRegistry registry;
+
+    private final Timer[] operationTimers = new Timer[OPERATIONS.length * OUTCOMES.length];
+
+    private final Timer[] phaseTimers = new Timer[OPERATIONS.length * PHASES.length * OUTCOMES.length];
+
+    public TransactionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Inicia a medição de uma operação.
+     */
+    public TransactionSample start(Operation operation) {
+        return new TransactionSample(this, operation);
+    }
+
+    void record(Operation operation, Outcome outcome, long nanos) {
+        var index = operation.ordinal() * OUTCOMES.length + outcome.ordinal();
+        var timer = operationTimers[index];
+
+        if (timer == null) {
+            // Registrar de novo a mesma combinação devolve o timer existente
+            timer = Timer.builder("bankapi.transaction")
+                    .description("Duração das operações de transação")
+                    .tag("operation", tag(operation))
+                    .tag("outcome", tag(outcome))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            operationTimers[index] = timer;
+        }
+
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void record(Operation operation, Phase phase, Outcome outcome, long nanos) {
+        var index = (operation.ordinal() * PHASES.length + phase.ordinal()) * OUTCOMES.length + outcome.ordinal();
+        var timer = phaseTimers[index];
+
+        if (timer == null) {
+            timer = Timer.builder("bankapi.transaction.phase")
+                    .description("Duração de cada fase das operações de transação")
+                    .tag("operation", tag(operation))
+                    .tag("phase", tag(phase))
+                    .tag("outcome", tag(outcome))
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(registry);
+            phaseTimers[index] = timer;
+        }
+
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String tag(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
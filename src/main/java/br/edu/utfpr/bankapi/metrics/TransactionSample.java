@@ -0,0 +1,115 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Operation;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Outcome;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Phase;
+import br.edu.utfpr.bankapi.validations.Rejection;
+
+/**
+ * Medição de uma única operação. Cada {@link #phase(Phase)} fecha a fase que
+ * terminou desde a marca anterior; {@link #finish()} encerra a medição ou,
+ * dentro de uma transação do Spring, a adia para depois do commit, que
+ * também é medido.
+ *
+ * As durações das fases ficam guardadas até o fim, quando o resultado da
+ * operação é conhecido.
+ */
+public final class TransactionSample implements TransactionSynchronization {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final TransactionMetrics metrics;
+
+    private final Operation operation;
+
+    private final long start;
+
+    private long mark;
+
+    private final long[] phases = new long[PHASES.length];
+
+    private Outcome outcome;
+
+    TransactionSample(TransactionMetrics metrics, Operation operation) {
+        this.metrics = metrics;
+        this.operation = operation;
+        this.start = System.nanoTime();
+        this.mark = start;
+
+        for (int i = 0; i < phases.length; i++)
+            phases[i] = -1;
+    }
+
+    /**
+     * Registra o fim da fase informada.
+     */
+    public void phase(Phase phase) {
+        var now = System.nanoTime();
+        phases[phase.ordinal()] = now - mark;
+        mark = now;
+    }
+
+    /**
+     * Registra a recusa esperada da operação, devolvida como resultado.
+     */
+    public void rejected(Rejection rejection) {
+        outcome = rejection == Rejection.WITHOUT_BALANCE ? Outcome.WITHOUT_BALANCE : Outcome.NOT_FOUND;
+    }
+
+    /**
+     * Registra a falha da operação.
+     */
+    public void failed(Exception exception) {
+        if (exception instanceof WithoutBalanceException)
+            outcome = Outcome.WITHOUT_BALANCE;
+        else if (exception instanceof NotFoundException)
+            outcome = Outcome.NOT_FOUND;
+        else if (exception instanceof OptimisticLockingFailureException
+                || exception instanceof PessimisticLockingFailureException)
+            outcome = Outcome.CONFLICT;
+        else
+            outcome = Outcome.ERROR;
+    }
+
+    /**
+     * Encerra a operação. Com uma transação ativa, o registro acontece depois
+     * do commit ou do rollback.
+     */
+    public void finish() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(this);
+        else
+            record(outcome == null ? Outcome.SUCCESS : outcome);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        mark = System.nanoTime();
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        if (status == STATUS_COMMITTED) {
+            phases[Phase.COMMIT.ordinal()] = System.nanoTime() - mark;
+            record(outcome == null ? Outcome.SUCCESS : outcome);
+        } else {
+            record(outcome == null ? Outcome.COMMIT_FAILED : outcome);
+        }
+    }
+
+    private void record(Outcome result) {
+        metrics.record(operation, result, System.nanoTime() - start);
+
+        for (int i = 0; i < phases.length; i++) {
+            if (phases[i] >= 0)
+                metrics.record(operation, PHASES[i], result, phases[i]);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package br.edu.utfpr.bankapi.model;
 
+import br.edu.utfpr.bankapi.cache.AccountCacheListener;
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.id.SnowflakeId;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,10 +18,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(AccountCacheListener.class)
 @Table(name = "tb_account")
 public class Account {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private long id;
 
     @Column(nullable = false)
@@ -28,17 +32,30 @@ public class Account {
     private long number;
     // private int checkDigit;
 
+    // Valores em centavos
+    @MoneyAmount
     @Column(nullable = false)
-    private double balance;
+    private long balance;
 
+    @MoneyAmount
     @Column(nullable = false)
-    private double specialLimit;
+    private long specialLimit;
 
-    public double getBalanceWithLimit() {
+    // Controle de concorrência otimista
+    @Version
+    private long version;
+
+    // Conta quente: quantidade de parcelas que recebem os créditos (zero
+    // para uma conta comum)
+    @Column(nullable = false)
+    private int hotSlots;
+
+    @MoneyAmount
+    public long getBalanceWithLimit() {
         return balance + specialLimit;
     }
 
-    public Account(String name, long number, double balance, double specialLimit) {
+    public Account(String name, long number, long balance, long specialLimit) {
         this.name = name;
         this.number = number;
         this.balance = balance;
@@ -0,0 +1,44 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parcela do saldo de uma conta quente: os créditos são distribuídos entre
+ * as parcelas e incorporados depois ao saldo da conta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(AccountSlot.Key.class)
+@Table(name = "tb_account_slot")
+public class AccountSlot {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private long accountId;
+
+        private int slot;
+    }
+
+    @Id
+    private long accountId;
+
+    @Id
+    private int slot;
+
+    // Créditos ainda não incorporados ao saldo, em centavos
+    @Column(nullable = false)
+    private long amount;
+}
@@ -0,0 +1,55 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantidade e valor das transações de um tipo em um dia, mantidos pelo
+ * {@code RollupProjector}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(DailyVolume.Key.class)
+@Table(name = "tb_daily_volume")
+public class DailyVolume {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+
+        private TransactionType type;
+    }
+
+    // "day" é palavra reservada em alguns bancos
+    @Id
+    @Column(name = "volume_day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long count;
+
+    // Valor em centavos
+    @MoneyAmount
+    @Column(nullable = false)
+    private long amount;
+}
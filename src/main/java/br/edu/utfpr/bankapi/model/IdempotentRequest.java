@@ -0,0 +1,48 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Requisição já executada com um {@code Idempotency-Key}, guardada com a
+ * resposta original para as repetições que chegarem depois de ela sair da
+ * memória.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+// Índice da limpeza dos registros antigos
+@Table(name = "tb_idempotent_request", indexes = {
+        @Index(name = "idx_idempotent_request_created", columnList = "created_at")
+})
+public class IdempotentRequest {
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    // Corpo da requisição original, para recusar a mesma chave com outro corpo
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    // Transação devolvida na primeira execução, em JSON
+    @Column(nullable = false, length = 4000)
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,30 @@
+package br.edu.utfpr.bankapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Andamento da aplicação de juros de um mês: as contas com número até
+ * {@code lastAccountNumber} já receberam os juros do período.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_interest_accrual")
+public class InterestAccrual {
+    // Mês de referência no formato yyyy-MM
+    @Id
+    private String period;
+
+    @Column(nullable = false)
+    private long lastAccountNumber;
+
+    @Column(nullable = false)
+    private boolean completed;
+}
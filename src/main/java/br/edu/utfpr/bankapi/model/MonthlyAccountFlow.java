@@ -0,0 +1,57 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.io.Serializable;
+
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entradas e saídas de uma conta em um mês, mantidas pelo
+ * {@code RollupProjector}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(MonthlyAccountFlow.Key.class)
+@Table(name = "tb_monthly_account_flow")
+public class MonthlyAccountFlow {
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private long accountId;
+
+        private String period;
+    }
+
+    @Id
+    private long accountId;
+
+    // Mês de referência no formato yyyy-MM
+    @Id
+    private String period;
+
+    // Valores em centavos
+    @MoneyAmount
+    @Column(nullable = false)
+    private long inflow;
+
+    @MoneyAmount
+    @Column(nullable = false)
+    private long outflow;
+
+    @Column(nullable = false)
+    private long inflowCount;
+
+    @Column(nullable = false)
+    private long outflowCount;
+}
@@ -0,0 +1,28 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repetição de uma transferência agendada.
+ */
+public enum Recurrence {
+    /** Executada uma única vez */
+    NONE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Instante da execução de índice {@code run} (a primeira é 0), contado
+     * sempre a partir da primeira: uma mensal agendada para o dia 31 volta ao
+     * dia 31 depois de um mês mais curto.
+     */
+    public LocalDateTime run(LocalDateTime first, long run) {
+        return switch (this) {
+            case NONE -> first;
+            case DAILY -> first.plusDays(run);
+            case WEEKLY -> first.plusWeeks(run);
+            case MONTHLY -> first.plusMonths(run);
+        };
+    }
+}
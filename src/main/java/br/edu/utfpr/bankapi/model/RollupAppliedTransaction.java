@@ -0,0 +1,24 @@
+package br.edu.utfpr.bankapi.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transação recente já somada às tabelas de resumo. Permite ao
+ * {@code RollupProjector} reler as transações logo atrás do
+ * {@link RollupCheckpoint} sem somá-las de novo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tb_rollup_applied")
+public class RollupAppliedTransaction {
+
+    @Id
+    private long transactionId;
+}
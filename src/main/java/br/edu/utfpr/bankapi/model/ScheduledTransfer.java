@@ -0,0 +1,78 @@
+package br.edu.utfpr.bankapi.model;
+
+import java.time.LocalDateTime;
+
+import br.edu.utfpr.bankapi.id.SnowflakeId;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transferência agendada, única ou recorrente.
+ *
+ * {@code nextRunAt} é o instante da próxima execução; ele só avança na mesma
+ * transação do banco que executa a transferência, então cada execução
+ * acontece uma única vez, mesmo com várias instâncias ou após um reinício.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+// Carga das próximas execuções pelo TransferScheduler, em ordem de (next_run_at, id)
+@Table(name = "tb_scheduled_transfer", indexes = {
+        @Index(name = "idx_scheduled_transfer_next_run", columnList = "status, next_run_at, id")
+})
+public class ScheduledTransfer {
+    @Id
+    @SnowflakeId
+    private long id;
+
+    @Column(nullable = false)
+    private long sourceAccountNumber;
+
+    @Column(nullable = false)
+    private long receiverAccountNumber;
+
+    // Valor em centavos
+    @MoneyAmount
+    @Column(nullable = false)
+    private long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Recurrence recurrence;
+
+    @Column(nullable = false)
+    private LocalDateTime firstRunAt;
+
+    // Última execução possível (nulo: sem fim)
+    private LocalDateTime endsAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextRunAt;
+
+    // Execuções já feitas, incluindo as recusadas
+    @Column(nullable = false)
+    private long runCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ScheduledTransferStatus status;
+
+    private LocalDateTime lastRunAt;
+
+    // Transação da última execução (nulo se recusada) e o motivo da recusa
+    private Long lastTransactionId;
+
+    private String lastRejection;
+
+    @Version
+    private long version;
+}
@@ -0,0 +1,8 @@
+package br.edu.utfpr.bankapi.model;
+
+public enum ScheduledTransferStatus {
+    ACTIVE,
+    /** Todas as execuções feitas */
+    COMPLETED,
+    CANCELED;
+}
@@ -2,12 +2,14 @@ package br.edu.utfpr.bankapi.model;
 
 import java.time.LocalDateTime;
 
+import br.edu.utfpr.bankapi.id.SnowflakeId;
+import br.edu.utfpr.bankapi.money.MoneyAmount;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -15,21 +17,31 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "tb_transaction")
+// Índices do extrato (filtro pela conta e ordem por (date_time, id)) e da
+// exportação por intervalo de datas
+@Table(name = "tb_transaction", indexes = {
+        @Index(name = "idx_transaction_source_date", columnList = "source_account_id, date_time, id"),
+        @Index(name = "idx_transaction_receiver_date", columnList = "receiver_account_id, date_time, id"),
+        @Index(name = "idx_transaction_date", columnList = "date_time, id")
+})
+// Contas LAZY: quem lê transações sem precisar das contas não paga os joins;
+// as respostas da API usam TransactionResponseDTO, só com os números
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "source_account_id")
     private Account sourceAccount;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "receiver_account_id")
     private Account receiverAccount;
 
-    private double amount;
+    // Valor em centavos
+    @MoneyAmount
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionType type;
@@ -40,7 +52,8 @@ public class Transaction {
         dateTime = LocalDateTime.now();
     }
 
-    public Transaction(Account sourceAccount, Account receiverAccount, double amount, TransactionType type) {
+    public Transaction(Account sourceAccount, Account receiverAccount, long amount, TransactionType type) {
+        this();
         this.sourceAccount = sourceAccount;
         this.receiverAccount = receiverAccount;
         this.amount = amount;
@@ -0,0 +1,53 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Valores monetários representados como {@code long} em centavos.
+ *
+ * Entidades, DTOs e o banco guardam centavos; a conversão para o valor
+ * decimal (reais) acontece somente na borda, no JSON, com
+ * {@link MoneyAmount}. Assim a aritmética das operações é inteira e exata e
+ * não cria objetos.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    public static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Converte um valor decimal em centavos.
+     *
+     * @throws ArithmeticException se o valor tiver mais de duas casas decimais
+     *                             ou não couber em um {@code long}
+     */
+    public static long ofDecimal(BigDecimal value) {
+        return value.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Converte um valor inteiro (em reais) em centavos.
+     */
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, CENTS_PER_UNIT);
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Texto do valor decimal com duas casas, por exemplo {@code -12.05}.
+     */
+    public static String format(long cents) {
+        var units = cents / CENTS_PER_UNIT;
+        var rest = Math.abs(cents % CENTS_PER_UNIT);
+        var sign = cents < 0 && units == 0 ? "-" : "";
+
+        return sign + units + (rest < 10 ? ".0" : ".") + rest;
+    }
+}
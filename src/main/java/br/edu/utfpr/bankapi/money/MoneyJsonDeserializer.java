@@ -0,0 +1,39 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+/**
+ * Lê um número decimal (ou texto numérico) em reais como centavos. Valores
+ * com mais de duas casas decimais são rejeitados em vez de arredondados.
+ */
+public class MoneyJsonDeserializer extends StdDeserializer<Long> {
+
+    public MoneyJsonDeserializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        var token = parser.currentToken();
+
+        try {
+            if (token == JsonToken.VALUE_NUMBER_INT)
+                return Money.ofUnits(parser.getLongValue());
+            if (token == JsonToken.VALUE_NUMBER_FLOAT)
+                return Money.ofDecimal(parser.getDecimalValue());
+            if (token == JsonToken.VALUE_STRING)
+                return Money.ofDecimal(new BigDecimal(parser.getText().trim()));
+        } catch (ArithmeticException | NumberFormatException ex) {
+            return (Long) context.handleWeirdStringValue(Long.class, parser.getText(),
+                    "valor monetário inválido: no máximo duas casas decimais");
+        }
+
+        return (Long) context.handleUnexpectedToken(Long.class, parser);
+    }
+}
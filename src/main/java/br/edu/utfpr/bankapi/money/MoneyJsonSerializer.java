@@ -0,0 +1,22 @@
+package br.edu.utfpr.bankapi.money;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Escreve centavos como número decimal com duas casas.
+ */
+public class MoneyJsonSerializer extends StdSerializer<Long> {
+
+    public MoneyJsonSerializer() {
+        super(Long.class);
+    }
+
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeNumber(Money.format(cents));
+    }
+}
@@ -1,11 +1,54 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import br.edu.utfpr.bankapi.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     public Optional<Account> getByNumber(long number);
+
+    /**
+     * Busca a conta bloqueando a linha até o fim da transação
+     * (SELECT ... FOR UPDATE).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number = :number")
+    public Optional<Account> getByNumberForUpdate(long number);
+
+    /**
+     * Página de contas com número maior que o informado (paginação por chave).
+     */
+    public List<Account> findByNumberGreaterThanOrderByNumberAsc(long number, Limit limit);
+
+    public List<Account> findByNumberIn(Collection<Long> numbers);
+
+    /**
+     * Busca e bloqueia as contas na ordem crescente do número.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.number in :numbers order by a.number")
+    public List<Account> findByNumberInForUpdate(Collection<Long> numbers);
+
+    @Modifying
+    @Query("update Account a set a.balance = :balance, a.version = a.version + 1 where a.id = :id")
+    public int updateBalance(long id, long balance);
+
+    /**
+     * Atualiza os dados cadastrais sem tocar no saldo.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Account a set a.name = :name, a.number = :number, a.specialLimit = :specialLimit,"
+            + " a.version = a.version + 1 where a.id = :id")
+    public int updateDetails(long id, String name, long number, long specialLimit);
 }
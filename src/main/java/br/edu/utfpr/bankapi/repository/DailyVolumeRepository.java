@@ -0,0 +1,13 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.DailyVolume;
+
+public interface DailyVolumeRepository extends JpaRepository<DailyVolume, DailyVolume.Key> {
+
+    List<DailyVolume> findByDayBetweenOrderByDayAscTypeAsc(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,27 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import br.edu.utfpr.bankapi.model.IdempotentRequest;
+
+public interface IdempotentRequestRepository extends JpaRepository<IdempotentRequest, String> {
+
+    /**
+     * Insere o registro. Diferente do {@code save}, que faria um merge pela
+     * chave informada, falha se outra requisição já gravou a mesma chave.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into tb_idempotent_request"
+            + " (idempotency_key, type, payload, response, created_at)"
+            + " values (:idempotencyKey, :type, :payload, :response, :createdAt)")
+    public int insert(String idempotencyKey, String type, String payload, String response,
+            LocalDateTime createdAt);
+
+    @Modifying
+    @Query("delete from IdempotentRequest r where r.createdAt < :before")
+    public int deleteCreatedBefore(LocalDateTime before);
+}
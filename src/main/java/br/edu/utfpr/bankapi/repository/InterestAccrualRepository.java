@@ -0,0 +1,9 @@
+package br.edu.utfpr.bankapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.InterestAccrual;
+
+public interface InterestAccrualRepository extends JpaRepository<InterestAccrual, String> {
+
+}
@@ -0,0 +1,15 @@
+package br.edu.utfpr.bankapi.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.JournalCheckpoint;
+
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, Integer> {
+
+    /**
+     * Última sequência projetada, ou zero se nada foi projetado ainda.
+     */
+    public default long lastSequence() {
+        return findById(JournalCheckpoint.ID).map(JournalCheckpoint::getLastSequence).orElse(0L);
+    }
+}
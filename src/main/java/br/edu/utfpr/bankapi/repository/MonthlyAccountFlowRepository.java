@@ -0,0 +1,16 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.edu.utfpr.bankapi.model.MonthlyAccountFlow;
+
+public interface MonthlyAccountFlowRepository extends JpaRepository<MonthlyAccountFlow, MonthlyAccountFlow.Key> {
+
+    /**
+     * Meses entre {@code from} e {@code to} (yyyy-MM, inclusive); a ordem do
+     * texto é a ordem cronológica.
+     */
+    List<MonthlyAccountFlow> findByAccountIdAndPeriodBetweenOrderByPeriodAsc(long accountId, String from, String to);
+}
@@ -0,0 +1,21 @@
+package br.edu.utfpr.bankapi.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import br.edu.utfpr.bankapi.model.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    /**
+     * Busca o agendamento bloqueando a linha até o fim da transação
+     * (SELECT ... FOR UPDATE).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ScheduledTransfer s where s.id = :id")
+    public Optional<ScheduledTransfer> findByIdForUpdate(long id);
+}
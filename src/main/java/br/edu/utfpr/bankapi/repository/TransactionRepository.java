@@ -1,9 +1,47 @@
 package br.edu.utfpr.bankapi.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
 import br.edu.utfpr.bankapi.model.Transaction;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    /**
+     * Transações em que a conta é a origem, no intervalo {@code [from, before)}
+     * e anteriores à chave ({@code before}, {@code beforeId}), da mais recente
+     * para a mais antiga. Usa o índice (source_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(
+                t.id, t.type, s.number, r.number, t.amount, t.dateTime)
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.sourceAccount.id = :accountId
+                and t.dateTime >= :from
+                and (t.dateTime < :before or (t.dateTime = :before and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc
+            """)
+    public List<StatementEntryDTO> findStatementAsSource(long accountId, LocalDateTime from,
+            LocalDateTime before, long beforeId, Limit limit);
+
+    /**
+     * Mesmo que {@link #findStatementAsSource}, para as transações em que a
+     * conta é o destino. Usa o índice (receiver_account_id, date_time, id).
+     */
+    @Query("""
+            select new br.edu.utfpr.bankapi.dto.StatementEntryDTO(
+                t.id, t.type, s.number, r.number, t.amount, t.dateTime)
+            from Transaction t left join t.sourceAccount s left join t.receiverAccount r
+            where t.receiverAccount.id = :accountId
+                and t.dateTime >= :from
+                and (t.dateTime < :before or (t.dateTime = :before and t.id < :beforeId))
+            order by t.dateTime desc, t.id desc
+            """)
+    public List<StatementEntryDTO> findStatementAsReceiver(long accountId, LocalDateTime from,
+            LocalDateTime before, long beforeId, Limit limit);
 }
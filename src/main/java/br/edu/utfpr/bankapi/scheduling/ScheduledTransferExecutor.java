@@ -0,0 +1,73 @@
+package br.edu.utfpr.bankapi.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.concurrency.RetryOnConflict;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Recurrence;
+import br.edu.utfpr.bankapi.model.ScheduledTransfer;
+import br.edu.utfpr.bankapi.model.ScheduledTransferStatus;
+import br.edu.utfpr.bankapi.repository.ScheduledTransferRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import jakarta.transaction.Transactional;
+
+/**
+ * Executa uma ocorrência de uma transferência agendada.
+ */
+@Component
+public class ScheduledTransferExecutor {
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    /**
+     * Executa a transferência agendada para {@code dueAt} e avança o
+     * agendamento para a próxima ocorrência, na mesma transação do banco.
+     *
+     * O agendamento é bloqueado e a ocorrência só é executada se ele ainda
+     * estiver ativo e com {@code nextRunAt} igual a {@code dueAt}: outra
+     * instância, ou esta antes de um reinício, pode já tê-la executado. Uma
+     * recusa (saldo insuficiente, conta inexistente) também conta como
+     * execução e fica registrada no agendamento.
+     *
+     * @return o agendamento atualizado, ou vazio se a ocorrência não estava
+     *         pendente
+     */
+    @RetryOnConflict
+    @Transactional
+    public Optional<ScheduledTransfer> fire(long id, LocalDateTime dueAt) {
+        var res = scheduledTransferRepository.findByIdForUpdate(id);
+        if (res.isEmpty())
+            return Optional.empty();
+
+        var schedule = res.get();
+        if (schedule.getStatus() != ScheduledTransferStatus.ACTIVE || !schedule.getNextRunAt().equals(dueAt))
+            return Optional.empty();
+
+        // Participa desta transação: a transferência e o avanço do
+        // agendamento são gravados juntos ou nenhum dos dois
+        var result = transactionService.tryTransfer(new TransferDTO(schedule.getSourceAccountNumber(),
+                schedule.getReceiverAccountNumber(), schedule.getAmount()));
+
+        schedule.setRunCount(schedule.getRunCount() + 1);
+        schedule.setLastRunAt(LocalDateTime.now());
+        schedule.setLastTransactionId(result.isSuccess() ? result.transaction().getId() : null);
+        schedule.setLastRejection(result.isSuccess() ? null : result.message());
+
+        var next = schedule.getRecurrence().run(schedule.getFirstRunAt(), schedule.getRunCount());
+        if (schedule.getRecurrence() == Recurrence.NONE
+                || (schedule.getEndsAt() != null && next.isAfter(schedule.getEndsAt())))
+            schedule.setStatus(ScheduledTransferStatus.COMPLETED);
+        else
+            schedule.setNextRunAt(next);
+
+        return Optional.of(schedule);
+    }
+}
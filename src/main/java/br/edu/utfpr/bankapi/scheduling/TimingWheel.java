@@ -0,0 +1,145 @@
+package br.edu.utfpr.bankapi.scheduling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel hierárquico: agenda itens por instante (em milissegundos) com
+ * inclusão e vencimento em O(1), independentemente da quantidade agendada.
+ *
+ * Cada nível tem {@code wheelSize} posições de {@code tick} milissegundos; o
+ * nível seguinte, criado quando um item não cabe, tem posições do tamanho do
+ * nível inteiro. Quando o relógio chega ao início de uma posição de um nível
+ * superior, os itens dela descem para o nível de baixo, até chegarem ao
+ * primeiro nível, onde vencem.
+ *
+ * Um item nunca vence antes do seu instante e vence no máximo um tick depois.
+ * Não é thread-safe: é usado por um único thread.
+ */
+public class TimingWheel<T> {
+
+    private record Entry<T>(long expiration, T value) {
+    }
+
+    private final long tick;
+
+    private final int wheelSize;
+
+    // Intervalo coberto pelo nível: tick * wheelSize
+    private final long interval;
+
+    private final List<Entry<T>>[] buckets;
+
+    // Início do tick corrente, múltiplo de tick. Itens com instante anterior
+    // já venceram
+    private long currentTime;
+
+    private TimingWheel<T> overflow;
+
+    private int size;
+
+    /**
+     * @param start instante inicial do relógio
+     */
+    public TimingWheel(long tick, int wheelSize, long start) {
+        if (tick < 1 || wheelSize < 2)
+            throw new IllegalArgumentException("Tick e tamanho do timing wheel inválidos");
+
+        this.tick = tick;
+        this.wheelSize = wheelSize;
+        this.interval = Math.multiplyExact(tick, wheelSize);
+        this.currentTime = Math.floorDiv(start, tick) * tick;
+
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        var buckets = (List<Entry<T>>[]) new List[wheelSize];
+        this.buckets = buckets;
+    }
+
+    /**
+     * Agenda o item.
+     *
+     * @return {@code false}, sem agendar, se o instante já passou: o item está
+     *         vencido
+     */
+    public boolean add(long expiration, T value) {
+        if (expiration < currentTime)
+            return false;
+
+        size++;
+        insert(new Entry<>(expiration, value));
+        return true;
+    }
+
+    private void insert(Entry<T> entry) {
+        if (entry.expiration() < currentTime + interval) {
+            var index = (int) Math.floorMod(Math.floorDiv(entry.expiration(), tick), (long) wheelSize);
+            var bucket = buckets[index];
+            if (bucket == null)
+                buckets[index] = bucket = new ArrayList<>();
+            bucket.add(entry);
+        } else {
+            if (overflow == null)
+                overflow = new TimingWheel<>(interval, wheelSize, currentTime);
+            overflow.insert(entry);
+        }
+    }
+
+    /**
+     * Avança o relógio até {@code now}, entregando ao {@code due} os itens
+     * vencidos, em ordem de tick.
+     */
+    public void advance(long now, Consumer<T> due) {
+        while (currentTime + tick <= now) {
+            // Todo o tick corrente já passou
+            var index = (int) Math.floorMod(Math.floorDiv(currentTime, tick), (long) wheelSize);
+            var bucket = buckets[index];
+            if (bucket != null) {
+                buckets[index] = null;
+                size -= bucket.size();
+                for (var entry : bucket)
+                    due.accept(entry.value());
+            }
+
+            currentTime += tick;
+
+            if (overflow != null && Math.floorMod(currentTime, interval) == 0)
+                overflow.cascade(currentTime, this);
+        }
+    }
+
+    /**
+     * O relógio do nível de baixo chegou a {@code time}, início de uma
+     * posição deste nível: os itens dela passam para o nível de baixo.
+     */
+    private void cascade(long time, TimingWheel<T> lower) {
+        currentTime = time;
+
+        // Primeiro recebe os itens do nível de cima que caem nesta posição
+        if (overflow != null && Math.floorMod(time, interval) == 0)
+            overflow.cascade(time, this);
+
+        var index = (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+        var bucket = buckets[index];
+        if (bucket != null) {
+            buckets[index] = null;
+            for (var entry : bucket)
+                lower.insert(entry);
+        }
+    }
+
+    /**
+     * Instante a partir do qual os itens ainda não venceram.
+     */
+    public long currentTime() {
+        return currentTime;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,302 @@
+package br.edu.utfpr.bankapi.scheduling;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import br.edu.utfpr.bankapi.model.ScheduledTransfer;
+import br.edu.utfpr.bankapi.model.ScheduledTransferStatus;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Dispara as transferências agendadas ({@link ScheduledTransfer}).
+ *
+ * A cada {@code load-interval-ms} os agendamentos ativos com próxima execução
+ * nos próximos {@code lookahead-ms} são lidos do banco (em páginas, pelo
+ * índice de {@code next_run_at}) e colocados em um {@link TimingWheel}; entre
+ * as cargas, o banco não é consultado. Os agendamentos criados pela API entram
+ * direto no wheel. Os já vencidos, inclusive os que venceram com a aplicação
+ * parada, são disparados na primeira carga.
+ *
+ * As ocorrências vencidas em um mesmo tick são divididas em lotes de
+ * {@code batch-size}, executados por {@code concurrency} threads. Cada
+ * ocorrência é executada pelo {@link ScheduledTransferExecutor}, que garante
+ * que ela aconteça uma única vez; a seguinte, se vencer dentro da janela
+ * carregada, volta para o wheel. Uma ocorrência que falha volta para o wheel
+ * com espera crescente, até {@code MAX_RETRIES} vezes; depois disso fica
+ * para a próxima carga.
+ *
+ * Habilitado com {@code bankapi.scheduled-transfers.enabled=true}; não é usado
+ * com o ledger em memória, cujas operações não participam da transação do
+ * banco que avança o agendamento.
+ */
+@Component
+@ConditionalOnExpression("${bankapi.scheduled-transfers.enabled:false} and !${bankapi.ledger.enabled:false}")
+public class TransferScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferScheduler.class);
+
+    private static final String SELECT_DUE = "select id, next_run_at from tb_scheduled_transfer"
+            + " where status = ? and next_run_at < ? and (next_run_at > ? or (next_run_at = ? and id > ?))"
+            + " order by next_run_at, id limit ?";
+
+    // Novas tentativas de uma ocorrência que falhou, com espera de tick-ms
+    // dobrando a cada vez, limitada a MAX_RETRY_DELAY_MILLIS
+    private static final int MAX_RETRIES = 5;
+
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    // Início da paginação; cabe no DATETIME de todos os bancos suportados
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    /**
+     * Ocorrência de um agendamento. Em uma nova tentativa, {@code retries} é a
+     * quantidade de falhas e {@code retryAt} (epoch millis) quando disparar.
+     */
+    private record Due(long id, LocalDateTime at, int retries, long retryAt) {
+
+        Due(long id, LocalDateTime at) {
+            this(id, at, 0, Long.MIN_VALUE);
+        }
+    }
+
+    private final ScheduledTransferExecutor executor;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long tickMillis;
+
+    private final long lookaheadMillis;
+
+    private final long loadIntervalMillis;
+
+    private final int loadPageSize;
+
+    private final int batchSize;
+
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Usado apenas pelo thread do scheduler
+    private final TimingWheel<Due> wheel;
+
+    // Ocorrências agendadas por outros threads, levadas ao wheel no próximo tick
+    private final Queue<Due> inbox = new ConcurrentLinkedQueue<>();
+
+    // Ocorrência no wheel ou em execução por agendamento, para que as cargas
+    // seguintes não a agendem de novo
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final ExecutorService workers;
+
+    // Fim da janela já carregada (epoch millis); usado apenas pelo thread do scheduler
+    private long loadedUntil;
+
+    private volatile boolean stopped;
+
+    private final Thread thread;
+
+    public TransferScheduler(ScheduledTransferExecutor executor, JdbcTemplate jdbcTemplate,
+            @Value("${bankapi.scheduled-transfers.tick-ms:1000}") long tickMillis,
+            @Value("${bankapi.scheduled-transfers.wheel-size:64}") int wheelSize,
+            @Value("${bankapi.scheduled-transfers.lookahead-ms:1200000}") long lookaheadMillis,
+            @Value("${bankapi.scheduled-transfers.load-interval-ms:600000}") long loadIntervalMillis,
+            @Value("${bankapi.scheduled-transfers.load-page-size:10000}") int loadPageSize,
+            @Value("${bankapi.scheduled-transfers.batch-size:500}") int batchSize,
+            @Value("${bankapi.scheduled-transfers.concurrency:4}") int concurrency) {
+        // A janela precisa alcançar a carga seguinte, senão algo venceria sem
+        // ter sido carregado
+        if (lookaheadMillis <= loadIntervalMillis)
+            throw new IllegalArgumentException("lookahead-ms deve ser maior que load-interval-ms");
+
+        this.executor = executor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tickMillis = tickMillis;
+        this.lookaheadMillis = lookaheadMillis;
+        this.loadIntervalMillis = loadIntervalMillis;
+        this.loadPageSize = loadPageSize;
+        this.batchSize = batchSize;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+
+        var workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            var worker = new Thread(runnable, "transfer-scheduler-" + workerCount.incrementAndGet());
+            worker.setDaemon(true);
+            return worker;
+        });
+
+        thread = new Thread(this::loop, "transfer-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Agenda uma ocorrência criada fora das cargas, por exemplo pela API. Se
+     * estiver além da janela carregada, fica para a carga que a alcançar.
+     */
+    public void schedule(long id, LocalDateTime at) {
+        inbox.add(new Due(id, at));
+    }
+
+    private void loop() {
+        var nextLoad = 0L;
+
+        while (!stopped) {
+            var now = System.currentTimeMillis();
+            var due = new ArrayList<Due>();
+
+            try {
+                if (now >= nextLoad) {
+                    load(now + lookaheadMillis, due);
+                    nextLoad = now + loadIntervalMillis;
+                }
+            } catch (RuntimeException ex) {
+                // A janela não avançou; tenta de novo em alguns ticks
+                log.error("Falha ao carregar as transferências agendadas", ex);
+                nextLoad = now + tickMillis * 10;
+            }
+
+            Due item;
+            while ((item = inbox.poll()) != null)
+                add(item, due);
+
+            wheel.advance(now, due::add);
+            dispatch(due);
+
+            try {
+                Thread.sleep(Math.max(1, wheel.currentTime() + tickMillis - System.currentTimeMillis()));
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lê as ocorrências anteriores a {@code until} que ainda não estão no
+     * wheel, pela chave (next_run_at, id).
+     */
+    private void load(long until, List<Due> due) {
+        var limit = Timestamp.valueOf(toLocalDateTime(until));
+        var after = new Object() {
+            LocalDateTime at = MIN_DATE_TIME;
+            long id = Long.MIN_VALUE;
+        };
+        var count = new int[1];
+        var loaded = 0L;
+
+        // Antes da leitura: o que for lido está dentro da janela
+        loadedUntil = until;
+
+        do {
+            count[0] = 0;
+            jdbcTemplate.query(SELECT_DUE, rs -> {
+                count[0]++;
+                after.id = rs.getLong(1);
+                after.at = rs.getTimestamp(2).toLocalDateTime();
+                add(new Due(after.id, after.at), due);
+            }, ScheduledTransferStatus.ACTIVE.name(), limit, Timestamp.valueOf(after.at),
+                    Timestamp.valueOf(after.at), after.id, loadPageSize);
+            loaded += count[0];
+        } while (count[0] == loadPageSize);
+
+        log.debug("Transferências agendadas: {} ocorrências até {}", loaded, limit);
+    }
+
+    private void add(Due item, List<Due> due) {
+        var at = Math.max(toEpochMilli(item.at()), item.retryAt());
+        // Além da janela: a carga que a alcançar lê do banco
+        if (at >= loadedUntil) {
+            if (item.retries() > 0)
+                pending.remove(item.id(), item.at());
+            return;
+        }
+
+        // Já agendada ou em execução. Uma nova tentativa continua em pending
+        // desde a falha, para que as cargas não a agendem de novo
+        if (item.at().equals(pending.put(item.id(), item.at())) && item.retries() == 0)
+            return;
+
+        if (!wheel.add(at, item))
+            due.add(item);
+    }
+
+    private void dispatch(List<Due> due) {
+        for (int i = 0; i < due.size(); i += batchSize) {
+            var batch = due.subList(i, Math.min(i + batchSize, due.size()));
+            workers.execute(() -> batch.forEach(this::fire));
+        }
+    }
+
+    private void fire(Due item) {
+        if (stopped)
+            // O que não foi disparado continua vencido no banco e é
+            // disparado após o reinício
+            return;
+
+        var retrying = false;
+
+        try {
+            executor.fire(item.id(), item.at()).ifPresent(schedule -> {
+                if (schedule.getStatus() == ScheduledTransferStatus.ACTIVE)
+                    // A próxima ocorrência; se já venceu, é disparada no próximo tick
+                    schedule(schedule.getId(), schedule.getNextRunAt());
+            });
+        } catch (RuntimeException ex) {
+            // A ocorrência continua pendente no banco; sem nova tentativa, é
+            // lida na próxima carga
+            log.error("Falha ao executar a transferência agendada {}", item.id(), ex);
+
+            if (item.retries() < MAX_RETRIES && !stopped) {
+                var delay = Math.min(tickMillis << item.retries(), MAX_RETRY_DELAY_MILLIS);
+                inbox.add(new Due(item.id(), item.at(), item.retries() + 1, System.currentTimeMillis() + delay));
+                retrying = true;
+            }
+        } finally {
+            if (!retrying)
+                pending.remove(item.id(), item.at());
+        }
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+    }
+
+    /**
+     * Ocorrências no wheel ou aguardando execução.
+     */
+    int pending() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stopped = true;
+        thread.interrupt();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+
+        // As ocorrências em execução terminam; as demais ficam para o reinício
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,379 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountImportReportDTO;
+import br.edu.utfpr.bankapi.dto.ImportErrorDTO;
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.money.Money;
+import br.edu.utfpr.bankapi.util.LongLongHashMap;
+import jakarta.validation.Validator;
+
+/**
+ * Importação de contas em massa, a partir de CSV ou NDJSON.
+ *
+ * O corpo é lido linha a linha, sem ser guardado inteiro: cada linha vira um
+ * {@link AccountDTO}, validado com as mesmas restrições do
+ * {@code POST /account}, e as válidas são inseridas em lotes de
+ * {@code batch-size} contas, com um INSERT em lote e um commit por lote. Como
+ * no cadastro, as contas começam com saldo zero.
+ *
+ * Uma linha inválida, com número repetido no arquivo ou de uma conta que já
+ * existe é rejeitada sem interromper a importação. Os lotes já gravados
+ * continuam gravados se a leitura falhar no meio.
+ */
+@Service
+public class AccountImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountImportService.class);
+
+    private static final String INSERT_ACCOUNT = "insert into tb_account"
+            + " (id, name, number, balance, special_limit, version, hot_slots) values (?, ?, ?, 0, ?, 0, 0)";
+
+    private static final String SELECT_NUMBERS = "select number from tb_account where number in (%s)";
+
+    // Números por consulta das contas existentes
+    private static final int IN_LIMIT = 1000;
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Linha lida e convertida, aguardando o lote.
+     */
+    private record Row(long line, AccountDTO dto) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Value("${bankapi.account-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${bankapi.account-import.max-errors:1000}")
+    private int maxErrors;
+
+    /**
+     * Importa as contas do corpo.
+     *
+     * No CSV, a primeira linha é o cabeçalho, com as colunas {@code name},
+     * {@code number} e, opcionalmente, {@code specialLimit} (em reais) e
+     * {@code balance} (ignorada), em qualquer ordem. Campos podem estar entre
+     * aspas, mas cada conta ocupa uma única linha.
+     *
+     * @throws IllegalArgumentException se o cabeçalho do CSV for inválido
+     */
+    public AccountImportReportDTO importAccounts(InputStream in, Format format) throws IOException {
+        var state = new State();
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        var parser = format == Format.CSV ? new CsvParser() : new NdjsonParser(objectMapper.readerFor(AccountDTO.class));
+
+        var rows = new ArrayList<Row>(batchSize);
+        var header = format == Format.CSV;
+        var line = 0L;
+        String text;
+
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank())
+                continue;
+
+            if (header) {
+                ((CsvParser) parser).header(text);
+                header = false;
+                continue;
+            }
+
+            state.rows++;
+            try {
+                var dto = parser.parse(text);
+
+                var violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    state.reject(line, violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                if (state.seen.containsKey(dto.number())) {
+                    state.reject(line, "Número repetido no arquivo: " + dto.number());
+                    continue;
+                }
+                state.seen.add(dto.number(), 1);
+
+                rows.add(new Row(line, dto));
+            } catch (IllegalArgumentException ex) {
+                state.reject(line, ex.getMessage());
+                continue;
+            }
+
+            if (rows.size() == batchSize) {
+                write(rows, state);
+                rows.clear();
+            }
+        }
+
+        if (header)
+            throw new IllegalArgumentException("Arquivo sem cabeçalho");
+
+        write(rows, state);
+
+        var elapsed = (System.nanoTime() - state.start) / 1_000_000;
+        var throughput = state.rows * 1000 / Math.max(1, elapsed);
+        log.info("Importação de contas: {} linhas, {} contas criadas, {} rejeitadas em {} ms ({} linhas/s)",
+                state.rows, state.imported, state.rejected, elapsed, throughput);
+
+        return new AccountImportReportDTO(state.rows, state.imported, state.rejected, elapsed, throughput,
+                state.errors);
+    }
+
+    private void write(List<Row> rows, State state) {
+        if (rows.isEmpty())
+            return;
+
+        var existing = existing(rows);
+        var inserts = new ArrayList<Row>(rows.size());
+
+        for (var row : rows) {
+            if (existing.contains(row.dto().number()))
+                state.reject(row.line(), duplicate(row.dto().number()));
+            else
+                inserts.add(row);
+        }
+
+        try {
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ACCOUNT, params(inserts)));
+            state.imported += inserts.size();
+        } catch (DataIntegrityViolationException ex) {
+            // Uma conta criada por outro caminho depois da consulta: o lote
+            // foi desfeito e é refeito conta a conta para saber qual falhou
+            for (var row : inserts) {
+                try {
+                    jdbcTemplate.update(INSERT_ACCOUNT, params(List.of(row)).get(0));
+                    state.imported++;
+                } catch (DataIntegrityViolationException rowEx) {
+                    state.reject(row.line(), duplicate(row.dto().number()));
+                }
+            }
+        }
+    }
+
+    private HashSet<Long> existing(List<Row> rows) {
+        var existing = new HashSet<Long>();
+
+        for (int i = 0; i < rows.size(); i += IN_LIMIT) {
+            var numbers = rows.subList(i, Math.min(i + IN_LIMIT, rows.size())).stream()
+                    .map(row -> row.dto().number())
+                    .toArray();
+            var sql = String.format(SELECT_NUMBERS, String.join(", ", Collections.nCopies(numbers.length, "?")));
+
+            jdbcTemplate.query(sql, rs -> {
+                existing.add(rs.getLong(1));
+            }, numbers);
+        }
+
+        return existing;
+    }
+
+    private List<Object[]> params(List<Row> rows) {
+        var params = new ArrayList<Object[]>(rows.size());
+        for (var row : rows)
+            params.add(new Object[] { idGenerator.nextId(), row.dto().name(), row.dto().number(),
+                    row.dto().specialLimit() });
+        return params;
+    }
+
+    private static String duplicate(long number) {
+        return "Já existe uma conta com o número " + number;
+    }
+
+    /**
+     * Contadores da importação em curso.
+     */
+    private final class State {
+
+        final long start = System.nanoTime();
+
+        // Números já lidos, para rejeitar repetições dentro do arquivo
+        final LongLongHashMap seen = new LongLongHashMap(batchSize);
+
+        final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        long rows;
+
+        long imported;
+
+        long rejected;
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxErrors)
+                errors.add(new ImportErrorDTO(line, message));
+        }
+    }
+
+    private interface LineParser {
+
+        /**
+         * @throws IllegalArgumentException se a linha não puder ser lida
+         */
+        AccountDTO parse(String line);
+    }
+
+    private static final class NdjsonParser implements LineParser {
+
+        private final ObjectReader reader;
+
+        NdjsonParser(ObjectReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public AccountDTO parse(String line) {
+            try {
+                return reader.readValue(line);
+            } catch (JsonProcessingException ex) {
+                throw new IllegalArgumentException("JSON inválido: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvParser implements LineParser {
+
+        private int name = -1;
+
+        private int number = -1;
+
+        private int specialLimit = -1;
+
+        private int columns;
+
+        void header(String line) {
+            var fields = split(line);
+            columns = fields.size();
+
+            for (int i = 0; i < fields.size(); i++) {
+                switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "name" -> name = i;
+                    case "number" -> number = i;
+                    case "speciallimit", "special_limit" -> specialLimit = i;
+                    case "balance" -> {
+                        // O saldo inicial é sempre zero, como no cadastro
+                    }
+                    default -> throw new IllegalArgumentException("Coluna desconhecida: " + fields.get(i));
+                }
+            }
+
+            if (name < 0 || number < 0)
+                throw new IllegalArgumentException("O cabeçalho deve ter as colunas name e number");
+        }
+
+        @Override
+        public AccountDTO parse(String line) {
+            var fields = split(line);
+            if (fields.size() != columns)
+                throw new IllegalArgumentException(
+                        "Esperadas " + columns + " colunas, encontradas " + fields.size());
+
+            var numberText = fields.get(number).trim();
+            Long accountNumber = null;
+            if (!numberText.isEmpty()) {
+                try {
+                    accountNumber = Long.valueOf(numberText);
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("number: número inválido: " + numberText);
+                }
+            }
+
+            var limit = 0L;
+            if (specialLimit >= 0 && !fields.get(specialLimit).isBlank()) {
+                var text = fields.get(specialLimit).trim();
+                try {
+                    limit = Money.ofDecimal(new BigDecimal(text));
+                } catch (ArithmeticException | NumberFormatException ex) {
+                    throw new IllegalArgumentException("specialLimit: valor monetário inválido: " + text);
+                }
+            }
+
+            return new AccountDTO(fields.get(name), accountNumber, 0, limit);
+        }
+
+        /**
+         * Separa os campos por vírgula. Um campo entre aspas pode conter
+         * vírgulas, e aspas dobradas dentro dele são uma aspa.
+         */
+        static List<String> split(String line) {
+            var fields = new ArrayList<String>();
+            var field = new StringBuilder();
+            var quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                var c = line.charAt(i);
+
+                if (quoted) {
+                    if (c != '"')
+                        field.append(c);
+                    else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                        field.append(line.charAt(++i));
+                    else
+                        quoted = false;
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c != '\r') {
+                    field.append(c);
+                }
+            }
+
+            if (quoted)
+                throw new IllegalArgumentException("Aspas não fechadas");
+
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package br.edu.utfpr.bankapi.service;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.util.Base64;
 import java.util.Optional;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
 import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.AccountPageDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 
@@ -18,12 +34,122 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    /**
+     * Motor de ledger em memória, presente apenas quando
+     * {@code bankapi.ledger.enabled=true}. Quando ativo, é ele quem detém o
+     * saldo mais recente das contas.
+     */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Value("${bankapi.account-page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${bankapi.account-stream.fetch-size:1000}")
+    private int streamFetchSize;
+
     public Optional<Account> getByNumber(long number) {
-        return accountRepository.getByNumber(number);
+        var res = accountCache.get(number, accountRepository::getByNumber);
+
+        if (ledgerEngine != null)
+            res.ifPresent(account -> ledgerEngine.balanceOf(number).ifPresent(account::setBalance));
+
+        // A conta do cache não é alterada: o saldo com as parcelas vai em uma cópia
+        return res.map(hotAccountService::withPending);
     }
 
-    public List<Account> getAll() {
-        return accountRepository.findAll();
+    /**
+     * Página de contas ordenadas pelo número, a partir do cursor devolvido
+     * pela página anterior (nulo para a primeira página).
+     */
+    public AccountPageDTO getPage(String cursor, int size) {
+        if (size < 1 || size > maxPageSize)
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + maxPageSize);
+
+        var after = cursor == null ? Long.MIN_VALUE : decodeCursor(cursor);
+
+        // Busca um item a mais para saber se existe uma próxima página
+        var accounts = accountRepository.findByNumberGreaterThanOrderByNumberAsc(after, Limit.of(size + 1));
+
+        String next = null;
+        if (accounts.size() > size) {
+            accounts = accounts.subList(0, size);
+            next = encodeCursor(accounts.get(size - 1).getNumber());
+        }
+
+        return new AccountPageDTO(accounts.stream().map(hotAccountService::withPending).toList(), next);
+    }
+
+    /**
+     * Escreve todas as contas como NDJSON (um objeto JSON por linha), à
+     * medida que são lidas de um cursor do banco. A memória usada não depende
+     * da quantidade de contas.
+     */
+    public void streamAll(OutputStream out) {
+        var template = new TransactionTemplate(transactionManager);
+        // Transação somente leitura: o PostgreSQL só usa o cursor fora do autocommit
+        template.setReadOnly(true);
+
+        var writer = objectMapper.writerFor(Account.class);
+        var account = new Account();
+
+        template.executeWithoutResult(status -> {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(
+                        "select a.id, a.name, a.number, a.balance + case when a.hot_slots = 0 then 0 else"
+                                + " (select coalesce(sum(s.amount), 0) from tb_account_slot s where s.account_id = a.id)"
+                                + " end, a.special_limit, a.version, a.hot_slots from tb_account a order by a.number",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(streamFetchSize);
+                return statement;
+            }, rs -> {
+                account.setId(rs.getLong(1));
+                account.setName(rs.getString(2));
+                account.setNumber(rs.getLong(3));
+                account.setBalance(rs.getLong(4));
+                account.setSpecialLimit(rs.getLong(5));
+                account.setVersion(rs.getLong(6));
+                account.setHotSlots(rs.getInt(7));
+
+                try {
+                    out.write(writer.writeValueAsBytes(account));
+                    out.write('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        });
+    }
+
+    private static String encodeCursor(long number) {
+        var bytes = ByteBuffer.allocate(Long.BYTES).putLong(number).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            var bytes = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            if (bytes.length != Long.BYTES)
+                throw new IllegalArgumentException();
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
     }
 
     public Account save(AccountDTO dto) {
@@ -32,10 +158,9 @@ public class AccountService {
 
         account.setBalance(0); // Inicializar a conta com saldo 0.
 
-        System.out.println(account);
-
-        // Salva a conta
-        return accountRepository.save(account);
+        // Salva a conta. Com o id gerado na aplicação o INSERT ficaria para o
+        // commit; o flush faz um número repetido falhar aqui
+        return accountRepository.saveAndFlush(account);
     }
 
     /**
@@ -46,18 +171,27 @@ public class AccountService {
      * @throws NotFoundException
      */
     public Account update(long id, AccountDTO dto) throws NotFoundException {
+        if (ledgerEngine != null) {
+            // O ledger grava com uma atualização em massa, que não passa pelo
+            // listener da entidade
+            var account = ledgerEngine.update(id, dto);
+            accountCache.evictAfterCommit(id, dto.number());
+            return account;
+        }
+
         var res = accountRepository.getByNumber(id);
 
         if (res.isEmpty())
             throw new NotFoundException();
 
         var account = res.get();
+        // O número antigo deixa de existir; o novo é invalidado pelo listener
+        accountCache.evictAfterCommit(id);
+
         account.setName(dto.name());
         account.setNumber(dto.number());
         account.setSpecialLimit(dto.specialLimit());
 
-        System.out.println(account);
-
         // Salva a conta
         return accountRepository.save(account);
     }
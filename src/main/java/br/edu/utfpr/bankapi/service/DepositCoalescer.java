@@ -0,0 +1,323 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Operation;
+import br.edu.utfpr.bankapi.metrics.TransactionSample;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.util.LongObjectHashMap;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Agrupa depósitos concorrentes em lotes gravados em uma única transação do
+ * banco.
+ *
+ * Um lote fecha quando atinge {@code max-items} depósitos ou quando passa
+ * {@code window-micros} desde o primeiro. Cada conta recebe um único UPDATE
+ * com a soma dos seus depósitos no lote, e as transações são inseridas com um
+ * único INSERT em lote. Quem depositou aguarda o commit do seu lote.
+ *
+ * Uma falha transitória do banco (deadlock, espera por bloqueio, conflito de
+ * versão) faz o lote ser refeito até {@code bankapi.concurrency.max-attempts}
+ * vezes. Se ainda assim falhar, os depósitos são gravados um a um, e só o que
+ * falhar de novo é devolvido com erro. Cada depósito é medido no
+ * {@link TransactionMetrics}, como os feitos pelo {@code TransactionService}.
+ *
+ * Habilitado com {@code bankapi.deposit-batch.enabled=true}; não é usado com
+ * o ledger em memória, que já agrupa as gravações.
+ */
+@Component
+@ConditionalOnExpression("${bankapi.deposit-batch.enabled:false} and !${bankapi.ledger.enabled:false}")
+public class DepositCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(DepositCoalescer.class);
+
+    private static final String INSERT_TRANSACTION = "insert into tb_transaction"
+            + " (id, type, source_account_id, receiver_account_id, amount, date_time) values (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE = "update tb_account"
+            + " set balance = balance + ?, version = version + 1 where id = ?";
+
+    private record Pending(DepositDTO dto, CompletableFuture<TransactionResult> result, TransactionSample sample) {
+    }
+
+    private final AvailableAccountValidation availableAccountValidation;
+
+    private final HotAccountService hotAccountService;
+
+    private final AccountCache accountCache;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    private final TransactionMetrics transactionMetrics;
+
+    private final int maxItems;
+
+    private final int maxAttempts;
+
+    private final long backoffMicros;
+
+    private final long windowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    // Protegido por lock
+    private List<Pending> queue = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    private final Thread worker;
+
+    public DepositCoalescer(AvailableAccountValidation availableAccountValidation,
+            HotAccountService hotAccountService, AccountCache accountCache, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager, SnowflakeIdGenerator idGenerator,
+            TransactionMetrics transactionMetrics,
+            @Value("${bankapi.deposit-batch.max-items:500}") int maxItems,
+            @Value("${bankapi.deposit-batch.window-micros:2000}") long windowMicros,
+            @Value("${bankapi.concurrency.max-attempts:5}") int maxAttempts,
+            @Value("${bankapi.concurrency.backoff-micros:200}") long backoffMicros) {
+        this.availableAccountValidation = availableAccountValidation;
+        this.hotAccountService = hotAccountService;
+        this.accountCache = accountCache;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idGenerator = idGenerator;
+        this.transactionMetrics = transactionMetrics;
+        this.maxItems = maxItems;
+        this.windowNanos = windowMicros * 1000;
+        this.maxAttempts = maxAttempts;
+        this.backoffMicros = backoffMicros;
+
+        worker = new Thread(this::loop, "deposit-coalescer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Enfileira o depósito no próximo lote.
+     */
+    public CompletableFuture<TransactionResult> submit(DepositDTO dto) {
+        var pending = new Pending(dto, new CompletableFuture<>(), transactionMetrics.start(Operation.DEPOSIT));
+
+        lock.lock();
+        try {
+            if (!running)
+                throw new IllegalStateException("Agrupamento de depósitos encerrado");
+
+            queue.add(pending);
+            // Acorda o worker no primeiro item (abre a janela) e no lote cheio
+            if (queue.size() == 1 || queue.size() >= maxItems)
+                changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        return pending.result();
+    }
+
+    /**
+     * Como {@link #submit(DepositDTO)}, aguardando o commit do lote.
+     */
+    public TransactionResult deposit(DepositDTO dto) {
+        try {
+            return submit(dto).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw ex;
+        }
+    }
+
+    private void loop() {
+        while (true) {
+            List<Pending> batch;
+
+            lock.lock();
+            try {
+                while (running && queue.isEmpty())
+                    changed.await();
+
+                if (queue.isEmpty())
+                    return;
+
+                // Janela aberta pelo primeiro item: espera mais depósitos até
+                // o prazo ou até o lote encher
+                var remaining = windowNanos;
+                while (running && queue.size() < maxItems && remaining > 0)
+                    remaining = changed.awaitNanos(remaining);
+
+                batch = queue;
+                queue = new ArrayList<>();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // Um lote com mais de max-items só acontece com o worker atrasado;
+            // é gravado do mesmo jeito, em uma transação
+            apply(batch);
+        }
+    }
+
+    private void apply(List<Pending> batch) {
+        List<TransactionResult> results;
+        try {
+            results = execute(batch);
+        } catch (RuntimeException ex) {
+            if (batch.size() == 1) {
+                log.error("Falha ao gravar depósito", ex);
+                fail(batch.get(0), ex);
+                return;
+            }
+
+            // Nada do lote foi gravado: os depósitos são gravados um a um,
+            // para que só o que causou a falha seja recusado
+            log.warn("Falha ao gravar lote de {} depósitos; gravando um a um", batch.size(), ex);
+            for (var pending : batch)
+                apply(List.of(pending));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++)
+            complete(batch.get(i), results.get(i));
+    }
+
+    /**
+     * Grava o lote em uma transação, refazendo-a nas falhas transitórias.
+     */
+    private List<TransactionResult> execute(List<Pending> batch) {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write(batch));
+            } catch (TransientDataAccessException ex) {
+                if (attempt >= maxAttempts)
+                    throw ex;
+
+                // Espera aleatória e crescente, como no OptimisticRetryAspect
+                var bound = backoffMicros << Math.min(attempt - 1, 10);
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(bound + 1) * 1000);
+            }
+        }
+    }
+
+    private static void complete(Pending pending, TransactionResult result) {
+        if (!result.isSuccess())
+            pending.sample().rejected(result.rejection());
+        pending.sample().finish();
+        pending.result().complete(result);
+    }
+
+    private static void fail(Pending pending, RuntimeException ex) {
+        pending.sample().failed(ex);
+        pending.sample().finish();
+        pending.result().completeExceptionally(ex);
+    }
+
+    private List<TransactionResult> write(List<Pending> batch) {
+        var numbers = batch.stream().mapToLong(pending -> pending.dto().receiverAccountNumber()).toArray();
+        var accounts = availableAccountValidation.findAll(numbers);
+
+        // Soma dos depósitos de cada conta no lote
+        var totals = new LongObjectHashMap<long[]>(accounts.size());
+        for (var pending : batch) {
+            var number = pending.dto().receiverAccountNumber();
+            if (!accounts.containsKey(number))
+                continue;
+
+            var total = totals.get(number);
+            if (total == null)
+                totals.put(number, total = new long[1]);
+            total[0] += pending.dto().amount();
+        }
+
+        var balances = new ArrayList<Object[]>(totals.size());
+        var updated = Arrays.stream(numbers).distinct().filter(totals::containsKey).sorted().toArray();
+
+        for (var number : updated) {
+            var account = accounts.get(number);
+            var total = totals.get(number)[0];
+
+            // A conta gerenciada não é alterada: o saldo muda pelo UPDATE
+            if (account.getHotSlots() > 0)
+                hotAccountService.credit(account, total);
+            else
+                balances.add(new Object[] { total, account.getId() });
+        }
+
+        // Contas em ordem crescente de número, a mesma de findAllForUpdate
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances);
+
+        var rows = new ArrayList<Object[]>(batch.size());
+        var results = new ArrayList<TransactionResult>(batch.size());
+
+        for (var pending : batch) {
+            var number = pending.dto().receiverAccountNumber();
+            var account = accounts.get(number);
+            if (account == null) {
+                results.add(TransactionResult.notFound(AvailableAccountValidation.missing(number)));
+                continue;
+            }
+
+            var transaction = new Transaction(null, account, pending.dto().amount(), TransactionType.DEPOSIT);
+            transaction.setId(idGenerator.nextId());
+            rows.add(new Object[] { transaction.getId(), transaction.getType().name(), null, account.getId(),
+                    transaction.getAmount(), Timestamp.valueOf(transaction.getDateTime()) });
+            results.add(TransactionResult.success(transaction));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+
+        // O UPDATE não passa pelo listener da entidade
+        accountCache.evictAfterCommit(updated);
+
+        return results;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        // O worker grava o que ainda estiver na fila antes de terminar
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,279 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.AccountSlot;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Contas quentes: contas que recebem tantos créditos que a linha em
+ * {@code tb_account} vira o gargalo.
+ *
+ * Os créditos de uma conta quente não alteram a conta: vão para uma das
+ * {@code hotSlots} parcelas ({@link AccountSlot}), escolhida ao acaso, e
+ * concorrem só com os créditos da mesma parcela. As parcelas são
+ * incorporadas ao saldo periodicamente. Até lá, o saldo disponível de uma
+ * conta quente é o saldo da conta mais o que está nas parcelas; é esse valor
+ * que as consultas e a validação de saldo usam.
+ *
+ * Os números das contas quentes ficam em memória, para que um depósito saiba
+ * antes de ler a conta que não precisa bloqueá-la. Não tem efeito com o
+ * ledger em memória, que já serializa as operações por conta.
+ */
+@Service
+public class HotAccountService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotAccountService.class);
+
+    private static final String CREDIT = "update tb_account_slot set amount = amount + ?"
+            + " where account_id = ? and slot = ?";
+
+    private static final String PENDING = "select a.version, (select coalesce(sum(s.amount), 0)"
+            + " from tb_account_slot s where s.account_id = a.id) from tb_account a where a.id = ?";
+
+    private static final String BALANCE_WITH_PENDING = "select a.balance + (select coalesce(sum(s.amount), 0)"
+            + " from tb_account_slot s where s.account_id = a.id) from tb_account a where a.id = ?";
+
+    private static final String LOCK_SLOTS = "select amount from tb_account_slot"
+            + " where account_id = ? for update";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Pela propriedade, e não pelo bean: o LedgerEngine depende da validação
+    // de saldo, que depende deste serviço
+    @Value("${bankapi.ledger.enabled:false}")
+    private boolean ledgerEnabled;
+
+    @Value("${bankapi.hot-accounts.slots:16}")
+    private int defaultSlots;
+
+    // Substituído por inteiro a cada alteração; nunca é modificado depois de publicado
+    private volatile Set<Long> hotNumbers = Set.of();
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${bankapi.hot-accounts.refresh-interval-ms:10000}")
+    public void refresh() {
+        hotNumbers = Set.copyOf(jdbcTemplate.queryForList(
+                "select number from tb_account where hot_slots > 0", Long.class));
+    }
+
+    /**
+     * Se a conta é quente segundo a última leitura. Pode estar atrasado em
+     * relação a outras instâncias; o que vale é o {@code hotSlots} da conta.
+     */
+    public boolean isHot(long number) {
+        return !ledgerEnabled && hotNumbers.contains(number);
+    }
+
+    /**
+     * Credita o valor em uma das parcelas da conta quente. Deve ser chamado
+     * dentro da transação da operação.
+     *
+     * @throws OptimisticLockingFailureException se a parcela não existe mais:
+     *                                           a conta lida deixou de ser
+     *                                           quente e a operação deve ser
+     *                                           refeita com a conta relida
+     */
+    public void credit(Account account, long amount) {
+        var slot = ThreadLocalRandom.current().nextInt(account.getHotSlots());
+        if (jdbcTemplate.update(CREDIT, amount, account.getId(), slot) != 1)
+            throw new OptimisticLockingFailureException("Conta " + account.getNumber() + " deixou de ser quente");
+
+        // A linha da conta não muda, então o listener do cache não é acionado
+        accountCache.evictAfterCommit(account.getNumber());
+    }
+
+    /**
+     * Créditos da conta ainda não incorporados ao saldo lido.
+     *
+     * Versão da conta e parcelas são lidas na mesma consulta. Se a versão
+     * mudou desde a leitura da conta, um fold pode ter movido parcelas para o
+     * saldo depois dela: somados, o saldo lido e as parcelas atuais deixariam
+     * esse valor de fora.
+     *
+     * @throws OptimisticLockingFailureException se a conta mudou desde a
+     *                                           leitura; a operação deve ser
+     *                                           refeita com a conta relida
+     */
+    public long pending(Account account) {
+        if (account.getHotSlots() == 0)
+            return 0;
+
+        var res = jdbcTemplate.queryForObject(PENDING,
+                (rs, row) -> new long[] { rs.getLong(1), rs.getLong(2) }, account.getId());
+        if (res[0] != account.getVersion())
+            throw new OptimisticLockingFailureException("Conta " + account.getNumber() + " alterada");
+
+        return res[1];
+    }
+
+    /**
+     * Cópia da conta com o saldo incluindo as parcelas pendentes. Contas
+     * comuns são devolvidas como estão.
+     *
+     * Saldo e parcelas são lidos do banco na mesma consulta: lidos em separado,
+     * um fold entre as duas leituras faria o valor sumir do total.
+     */
+    public Account withPending(Account account) {
+        if (account.getHotSlots() == 0)
+            return account;
+
+        var copy = new Account();
+        BeanUtils.copyProperties(account, copy);
+        copy.setBalance(jdbcTemplate.queryForObject(BALANCE_WITH_PENDING, Long.class, account.getId()));
+        return copy;
+    }
+
+    /**
+     * Incorpora as parcelas ao saldo da conta. As parcelas ficam bloqueadas
+     * até o commit, então nenhum crédito concorrente se perde.
+     */
+    public void fold(long accountId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var total = jdbcTemplate.queryForList(LOCK_SLOTS, Long.class, accountId).stream()
+                    .mapToLong(Long::longValue).sum();
+
+            if (total == 0)
+                return;
+
+            jdbcTemplate.update("update tb_account set balance = balance + ?, version = version + 1"
+                    + " where id = ?", total, accountId);
+            jdbcTemplate.update("update tb_account_slot set amount = 0 where account_id = ?", accountId);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${bankapi.hot-accounts.fold-interval-ms:1000}")
+    public void foldAll() {
+        if (ledgerEnabled)
+            return;
+
+        var accounts = jdbcTemplate.query("select id, number from tb_account where hot_slots > 0",
+                (rs, row) -> new long[] { rs.getLong(1), rs.getLong(2) });
+
+        var folded = new ArrayList<Long>();
+        for (var account : accounts) {
+            try {
+                fold(account[0]);
+                folded.add(account[1]);
+            } catch (RuntimeException ex) {
+                // As parcelas continuam lá; a próxima execução tenta de novo
+                log.error("Falha ao incorporar as parcelas da conta {}", account[1], ex);
+            }
+        }
+
+        accountCache.evictAfterCommit(folded.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    /**
+     * Marca a conta como quente, criando as suas parcelas.
+     */
+    public Account enable(long number, int slots) throws NotFoundException {
+        if (ledgerEnabled)
+            throw new IllegalStateException("Contas quentes indisponíveis com o ledger em memória");
+        if (slots < 1 || slots > 1024)
+            throw new IllegalArgumentException("Quantidade de parcelas deve estar entre 1 e 1024");
+
+        var account = new TransactionTemplate(transactionManager).execute(status -> {
+            var res = accountRepository.getByNumberForUpdate(number);
+            if (res.isEmpty())
+                return null;
+
+            var found = res.get();
+            if (found.getHotSlots() > 0)
+                return found;
+
+            var rows = new ArrayList<Object[]>(slots);
+            for (int i = 0; i < slots; i++)
+                rows.add(new Object[] { found.getId(), i });
+            jdbcTemplate.batchUpdate("insert into tb_account_slot (account_id, slot, amount) values (?, ?, 0)",
+                    rows);
+
+            found.setHotSlots(slots);
+            return accountRepository.save(found);
+        });
+
+        if (account == null)
+            throw new NotFoundException();
+
+        changed(number, true);
+        return account;
+    }
+
+    public Account enable(long number) throws NotFoundException {
+        return enable(number, defaultSlots);
+    }
+
+    /**
+     * Volta a conta a comum, incorporando antes o que está nas parcelas.
+     */
+    public Account disable(long number) throws NotFoundException {
+        var account = new TransactionTemplate(transactionManager).execute(status -> {
+            var id = jdbcTemplate.queryForList("select id from tb_account where number = ?", Long.class, number)
+                    .stream().findFirst();
+            if (id.isEmpty())
+                return null;
+
+            // Parcelas antes da conta, na mesma ordem de fold(), para não
+            // entrar em deadlock com ele
+            var total = jdbcTemplate.queryForList(LOCK_SLOTS, Long.class, id.get()).stream()
+                    .mapToLong(Long::longValue).sum();
+
+            // Os depósitos que ainda a consideram quente esperam pelas parcelas
+            // bloqueadas e, removidas as parcelas, não encontram a sua: falham
+            // por conflito e são refeitos com hotSlots = 0
+            var found = accountRepository.getByNumberForUpdate(number).orElseThrow();
+            if (found.getHotSlots() == 0)
+                return found;
+
+            jdbcTemplate.update("delete from tb_account_slot where account_id = ?", found.getId());
+
+            found.setBalance(found.getBalance() + total);
+            found.setHotSlots(0);
+            return accountRepository.save(found);
+        });
+
+        if (account == null)
+            throw new NotFoundException();
+
+        changed(number, false);
+        return account;
+    }
+
+    private void changed(long number, boolean hot) {
+        var numbers = new HashSet<>(hotNumbers);
+        if (hot)
+            numbers.add(number);
+        else
+            numbers.remove(number);
+        hotNumbers = Set.copyOf(numbers);
+    }
+}
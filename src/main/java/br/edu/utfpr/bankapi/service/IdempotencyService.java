@@ -0,0 +1,110 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Execução das operações com {@code Idempotency-Key}.
+ *
+ * As chaves recentes ficam em memória, em um cache limitado por tamanho e
+ * por tempo: uma repetição devolve a resposta original sem consultar o
+ * banco, e uma repetição que chega enquanto a original ainda executa espera
+ * pelo mesmo resultado. Chaves mais antigas são buscadas no
+ * {@link IdempotencyStore}.
+ *
+ * Só as operações confirmadas são lembradas; uma recusa ou falha pode ser
+ * repetida com a mesma chave.
+ */
+@Service
+public class IdempotencyService {
+
+    @FunctionalInterface
+    public interface Operation {
+        TransactionResult execute();
+    }
+
+    private record Entry(TransactionType type, String payload, CompletableFuture<TransactionResult> response) {
+    }
+
+    private final IdempotencyStore store;
+
+    private final Cache<String, Entry> cache;
+
+    public IdempotencyService(IdempotencyStore store, MeterRegistry meterRegistry,
+            @Value("${bankapi.idempotency.maximum-size:100000}") long maximumSize,
+            @Value("${bankapi.idempotency.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.store = store;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+    }
+
+    /**
+     * Executa a operação uma única vez por chave.
+     *
+     * @param payload representação da requisição, comparada nas repetições
+     * @throws IdempotencyKeyReuseException chave já usada com outra requisição
+     */
+    public TransactionResult execute(String key, TransactionType type, Object payload, Operation operation) {
+        var entry = new Entry(type, String.valueOf(payload), new CompletableFuture<>());
+        var existing = cache.asMap().putIfAbsent(key, entry);
+
+        if (existing != null) {
+            if (existing.type() != entry.type() || !existing.payload().equals(entry.payload()))
+                throw new IdempotencyKeyReuseException();
+
+            return await(existing.response());
+        }
+
+        try {
+            var result = run(key, entry, operation);
+            if (!result.isSuccess())
+                cache.asMap().remove(key, entry);
+
+            entry.response().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            cache.asMap().remove(key, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private TransactionResult run(String key, Entry entry, Operation operation) {
+        try {
+            return store.execute(key, entry.type(), entry.payload(), operation);
+        } catch (DataIntegrityViolationException ex) {
+            // Outra instância gravou a mesma chave ao mesmo tempo; a nossa
+            // operação foi desfeita e a resposta dela já está no banco
+            return store.execute(key, entry.type(), entry.payload(), operation);
+        }
+    }
+
+    private static TransactionResult await(CompletableFuture<TransactionResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime)
+                throw runtime;
+
+            throw ex;
+        }
+    }
+}
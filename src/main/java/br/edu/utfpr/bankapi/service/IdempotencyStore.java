@@ -0,0 +1,122 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.concurrency.RetryOnConflict;
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.exception.IdempotencyKeyReuseException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.IdempotentRequest;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.IdempotentRequestRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Parte persistente das chaves de idempotência: a operação e o registro da
+ * chave são gravados na mesma transação do banco, então uma operação
+ * confirmada sempre tem a sua chave gravada.
+ *
+ * Com o ledger em memória a operação não participa da transação do banco e
+ * a chave é gravada logo depois dela.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    @Autowired
+    private IdempotentRequestRepository idempotentRequestRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${bankapi.idempotency.retention:24h}")
+    private Duration retention;
+
+    /**
+     * Devolve a resposta gravada para a chave ou executa a operação e grava
+     * a chave com a resposta.
+     *
+     * @throws IdempotencyKeyReuseException chave já usada com outra requisição
+     */
+    @RetryOnConflict
+    @Transactional
+    public TransactionResult execute(String key, TransactionType type, String payload,
+            IdempotencyService.Operation operation) {
+        var existing = idempotentRequestRepository.findById(key);
+
+        if (existing.isPresent()) {
+            var request = existing.get();
+            if (request.getType() != type || !request.getPayload().equals(payload))
+                throw new IdempotencyKeyReuseException();
+
+            return TransactionResult.success(read(request.getResponse()));
+        }
+
+        var result = operation.execute();
+        if (!result.isSuccess())
+            return result;
+
+        // Uma requisição concorrente com a mesma chave falha aqui e desfaz a operação
+        idempotentRequestRepository.insert(key, type.name(), payload, write(result.transaction()),
+                LocalDateTime.now());
+
+        return result;
+    }
+
+    @Scheduled(cron = "${bankapi.idempotency.cleanup-cron:-}")
+    @Transactional
+    public void cleanup() {
+        var removed = idempotentRequestRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0)
+            log.info("Idempotência: {} chaves expiradas removidas", removed);
+    }
+
+    private String write(Transaction transaction) {
+        try {
+            return objectMapper.writeValueAsString(TransactionResponseDTO.of(transaction));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Transação da resposta guardada. Ela só tem os números das contas, que
+     * é o que a resposta da API usa.
+     */
+    private Transaction read(String response) {
+        TransactionResponseDTO dto;
+        try {
+            dto = objectMapper.readValue(response, TransactionResponseDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        var transaction = new Transaction(accountOf(dto.sourceAccountNumber()), accountOf(dto.receiverAccountNumber()),
+                dto.amount(), dto.type());
+        transaction.setId(dto.id());
+        transaction.setDateTime(dto.dateTime());
+        return transaction;
+    }
+
+    private static Account accountOf(Long number) {
+        if (number == null)
+            return null;
+
+        var account = new Account();
+        account.setNumber(number);
+        return account;
+    }
+}
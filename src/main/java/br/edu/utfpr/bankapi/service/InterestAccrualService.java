@@ -0,0 +1,216 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.InterestAccrual;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.InterestAccrualRepository;
+
+/**
+ * Aplica os juros mensais sobre o saldo positivo de todas as contas.
+ *
+ * As contas são lidas em blocos ordenados pelo número. Cada bloco é lido,
+ * bloqueado e gravado em uma única transação do banco: os juros são
+ * calculados em centavos, em paralelo, sobre vetores primitivos e gravados
+ * com JDBC em lote junto com as transações {@link TransactionType#INTEREST} e
+ * o andamento do período ({@link InterestAccrual}). Uma operação concorrente
+ * espera o bloco terminar, e os juros nunca incidem sobre um saldo que já
+ * mudou. Se o processo
+ * for interrompido, a próxima execução continua a partir do último bloco
+ * gravado, sem aplicar juros duas vezes na mesma conta.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    // Saldo com as parcelas das contas quentes. As parcelas não são bloqueadas:
+    // um fold espera pela conta bloqueada e só as move depois do commit
+    private static final String SELECT_ACCOUNTS = "select a.id, a.number, a.balance"
+            + " + (select coalesce(sum(s.amount), 0) from tb_account_slot s where s.account_id = a.id)"
+            + " from tb_account a where a.number > ? order by a.number limit ? for update";
+
+    private static final String UPDATE_BALANCE = "update tb_account"
+            + " set balance = balance + ?, version = version + 1 where id = ?";
+
+    private static final String INSERT_TRANSACTION = "insert into tb_transaction"
+            + " (id, type, source_account_id, receiver_account_id, amount, date_time) values (?, ?, null, ?, ?, ?)";
+
+    // Quantidade de contas abaixo da qual uma tarefa não é mais dividida
+    private static final int FORK_THRESHOLD = 4096;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InterestAccrualRepository interestAccrualRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.interest.monthly-rate:0.5}")
+    private float monthlyRate;
+
+    @Value("${bankapi.interest.chunk-size:10000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${bankapi.interest.cron:-}")
+    public void accrueCurrentMonth() {
+        accrue(YearMonth.now());
+    }
+
+    /**
+     * Aplica os juros do mês informado nas contas que ainda não os receberam.
+     *
+     * @return quantidade de contas que receberam juros nesta execução
+     */
+    public synchronized int accrue(YearMonth period) {
+        if (ledgerEngine != null) {
+            // Os saldos pertencem ao ledger em memória, que os sobrescreveria
+            log.warn("Juros de {} não aplicados: não suportado com o ledger em memória", period);
+            return 0;
+        }
+
+        var state = interestAccrualRepository.findById(period.toString())
+                .orElseGet(() -> new InterestAccrual(period.toString(), Long.MIN_VALUE, false));
+
+        if (state.isCompleted())
+            return 0;
+
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var ids = new long[chunkSize];
+        var numbers = new long[chunkSize];
+        var balances = new long[chunkSize];
+        var interest = new long[chunkSize];
+        var total = 0;
+
+        while (true) {
+            var chunk = transactionTemplate.execute(status -> {
+                var count = readChunk(state.getLastAccountNumber(), ids, numbers, balances);
+                if (count == 0)
+                    return new int[] { 0, 0 };
+
+                ForkJoinPool.commonPool().invoke(new InterestTask(balances, interest, 0, count, monthlyRate));
+
+                var updates = new ArrayList<Object[]>(count);
+                var inserts = new ArrayList<Object[]>(count);
+                var credited = new long[count];
+                var now = Timestamp.valueOf(LocalDateTime.now());
+                var n = 0;
+
+                for (int i = 0; i < count; i++) {
+                    if (balances[i] <= 0 || interest[i] <= 0)
+                        continue;
+
+                    updates.add(new Object[] { interest[i], ids[i] });
+                    inserts.add(new Object[] { idGenerator.nextId(), TransactionType.INTEREST.name(), ids[i],
+                            interest[i], now });
+                    credited[n++] = numbers[i];
+                }
+
+                state.setLastAccountNumber(numbers[count - 1]);
+
+                jdbcTemplate.batchUpdate(UPDATE_BALANCE, updates);
+                jdbcTemplate.batchUpdate(INSERT_TRANSACTION, inserts);
+                interestAccrualRepository.save(state);
+                accountCache.evictAfterCommit(Arrays.copyOf(credited, n));
+
+                return new int[] { count, n };
+            });
+
+            total += chunk[1];
+
+            if (chunk[0] < chunkSize)
+                break;
+        }
+
+        state.setCompleted(true);
+        interestAccrualRepository.save(state);
+
+        log.info("Juros de {} aplicados em {} contas", period, total);
+        return total;
+    }
+
+    /**
+     * Lê e bloqueia o próximo bloco de contas para os vetores. Deve ser
+     * chamado dentro da transação que grava o bloco.
+     *
+     * @return quantidade de contas lidas
+     */
+    private int readChunk(long afterNumber, long[] ids, long[] numbers, long[] balances) {
+        var count = new int[1];
+
+        jdbcTemplate.query(SELECT_ACCOUNTS, rs -> {
+            var i = count[0]++;
+            ids[i] = rs.getLong(1);
+            numbers[i] = rs.getLong(2);
+            balances[i] = rs.getLong(3);
+        }, afterNumber, ids.length);
+
+        return count[0];
+    }
+
+    /**
+     * Divide o cálculo dos juros de um bloco entre os threads do fork-join.
+     */
+    private static class InterestTask extends RecursiveAction {
+
+        private final long[] balances;
+
+        private final long[] interest;
+
+        private final int from;
+
+        private final int to;
+
+        private final float rate;
+
+        InterestTask(long[] balances, long[] interest, int from, int to, float rate) {
+            this.balances = balances;
+            this.interest = interest;
+            this.from = from;
+            this.to = to;
+            this.rate = rate;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                InterestCalculator.calcularJuros(balances, interest, from, to, rate, 1);
+                return;
+            }
+
+            var middle = (from + to) >>> 1;
+            invokeAll(new InterestTask(balances, interest, from, middle, rate),
+                    new InterestTask(balances, interest, middle, to, rate));
+        }
+    }
+}
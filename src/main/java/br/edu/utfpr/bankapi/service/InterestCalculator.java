@@ -14,4 +14,41 @@ public class InterestCalculator {
         double juros = valor * Math.pow(1+taxaDecimal, prazo) - valor;
         return new BigDecimal(juros).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
     }
+
+    /**
+     * Calcula os juros compostos de um valor em centavos, com o resultado
+     * também em centavos arredondado meio para o par. O cálculo é exato: a
+     * taxa é usada como escrita (0.5f é 0,5%, e não o float mais próximo).
+     */
+    public static long calcularJurosCentavos(long valor, float taxa, int prazo) {
+        return juros(valor, fator(taxa, prazo));
+    }
+
+    /**
+     * Calcula os juros compostos de {@code valores[from..to)}, em centavos,
+     * com a mesma taxa e prazo, gravando o resultado em {@code juros}. O fator
+     * de juros é calculado uma única vez para todos os valores.
+     */
+    public static void calcularJuros(long[] valores, long[] juros, int from, int to, float taxa, int prazo) {
+        var fator = fator(taxa, prazo);
+
+        for (int i = from; i < to; i++)
+            juros[i] = juros(valores[i], fator);
+    }
+
+    /**
+     * (1 + taxa)^prazo - 1, exato. A taxa vem pelo seu texto decimal: a
+     * conversão direta do float traria o erro binário para o resultado.
+     */
+    private static BigDecimal fator(float taxa, int prazo) {
+        var taxaDecimal = new BigDecimal(Float.toString(taxa)).movePointLeft(2);
+        return BigDecimal.ONE.add(taxaDecimal).pow(prazo).subtract(BigDecimal.ONE);
+    }
+
+    private static long juros(long valor, BigDecimal fator) {
+        if (valor == 0)
+            return 0;
+
+        return BigDecimal.valueOf(valor).multiply(fator).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
 }
@@ -0,0 +1,309 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
+import br.edu.utfpr.bankapi.dto.DiscrepancyDTO;
+import br.edu.utfpr.bankapi.dto.ReconciliationReportDTO;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.util.LongLongHashMap;
+
+/**
+ * Confere o saldo de cada conta com o líquido das suas transações e, se
+ * pedido, reconstrói os saldos a partir delas.
+ *
+ * {@code tb_transaction} é lida por um cursor somente para frente, em blocos
+ * de vetores primitivos. Enquanto um bloco é lido, o anterior é somado pelos
+ * threads do fork-join: as contas são divididas em partições, cada uma com o
+ * seu mapa, e cada partição é somada por uma única tarefa, sem sincronização.
+ * Transações e saldos são lidos na mesma transação do banco, com leitura
+ * repetível, para que sejam do mesmo instante.
+ */
+@Service
+public class ReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationService.class);
+
+    private static final String SELECT_TRANSACTIONS = "select source_account_id, receiver_account_id, amount"
+            + " from tb_transaction";
+
+    private static final String SELECT_ACCOUNTS = "select a.id, a.number, a.balance, a.version,"
+            + " (select coalesce(sum(s.amount), 0) from tb_account_slot s where s.account_id = a.id)"
+            + " from tb_account a order by a.number";
+
+    // Só corrige a conta se ela não mudou desde a leitura
+    private static final String REBUILD_BALANCE = "update tb_account"
+            + " set balance = ?, version = version + 1 where id = ? and version = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.reconciliation.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${bankapi.reconciliation.chunk-size:65536}")
+    private int chunkSize;
+
+    @Value("${bankapi.reconciliation.max-reported:1000}")
+    private int maxReported;
+
+    /**
+     * Conta divergente, com o que é preciso para corrigi-la.
+     */
+    private record Discrepancy(long id, long number, long version, long balance, long pending, long expected) {
+    }
+
+    private record Snapshot(long accounts, long transactions, List<Discrepancy> discrepancies) {
+    }
+
+    /**
+     * Relatório das contas cujo saldo difere do líquido das transações.
+     */
+    public ReconciliationReportDTO reconcile() {
+        var snapshot = snapshot();
+        return report(snapshot, 0, 0);
+    }
+
+    /**
+     * Reconstrói o saldo das contas divergentes a partir das transações. Uma
+     * conta alterada depois da leitura não é corrigida e conta como
+     * {@code skipped}; basta executar de novo.
+     */
+    public synchronized ReconciliationReportDTO rebuild() {
+        var snapshot = snapshot();
+        var discrepancies = snapshot.discrepancies();
+
+        // Nas contas quentes, o que está nas parcelas continua lá
+        var rows = new ArrayList<Object[]>(discrepancies.size());
+        for (var discrepancy : discrepancies)
+            rows.add(new Object[] { discrepancy.expected() - discrepancy.pending(), discrepancy.id(),
+                    discrepancy.version() });
+
+        var rebuilt = new long[discrepancies.size()];
+        var n = new int[1];
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var counts = jdbcTemplate.batchUpdate(REBUILD_BALANCE, rows);
+            for (int i = 0; i < counts.length; i++)
+                if (counts[i] != 0)
+                    rebuilt[n[0]++] = discrepancies.get(i).number();
+
+            // O UPDATE não passa pelo listener da entidade
+            accountCache.evictAfterCommit(Arrays.copyOf(rebuilt, n[0]));
+        });
+
+        var skipped = discrepancies.size() - n[0];
+        log.warn("Saldos reconstruídos: {} contas corrigidas, {} alteradas durante a leitura", n[0], skipped);
+
+        return report(snapshot, n[0], skipped);
+    }
+
+    private ReconciliationReportDTO report(Snapshot snapshot, long rebuilt, long skipped) {
+        var reported = snapshot.discrepancies().stream()
+                .limit(maxReported)
+                .map(d -> new DiscrepancyDTO(d.number(), d.balance() + d.pending(), d.expected()))
+                .toList();
+
+        return new ReconciliationReportDTO(snapshot.accounts(), snapshot.transactions(),
+                snapshot.discrepancies().size(), reported, rebuilt, skipped);
+    }
+
+    private Snapshot snapshot() {
+        if (ledgerEngine != null)
+            // O banco só recebe os saldos do ledger periodicamente
+            throw new IllegalStateException("Reconciliação indisponível com o ledger em memória");
+
+        var template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        return template.execute(status -> {
+            var nets = new Nets(ForkJoinPool.commonPool().getParallelism());
+            var transactions = aggregate(nets);
+
+            var accounts = new long[1];
+            var discrepancies = new ArrayList<Discrepancy>();
+
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(SELECT_ACCOUNTS, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, rs -> {
+                accounts[0]++;
+                var id = rs.getLong(1);
+                var balance = rs.getLong(3);
+                var pending = rs.getLong(5);
+                var expected = nets.get(id);
+
+                if (balance + pending != expected)
+                    discrepancies.add(new Discrepancy(id, rs.getLong(2), rs.getLong(4), balance, pending, expected));
+            });
+
+            return new Snapshot(accounts[0], transactions, discrepancies);
+        });
+    }
+
+    /**
+     * Lê as transações e soma o líquido de cada conta. Dois blocos se
+     * alternam: um é preenchido pelo cursor enquanto o outro é somado.
+     *
+     * @return quantidade de transações lidas
+     */
+    private long aggregate(Nets nets) {
+        var chunks = new Chunk[] { new Chunk(chunkSize), new Chunk(chunkSize) };
+        var state = new Object() {
+            int current;
+            long count;
+            ForkJoinTask<?> running;
+        };
+
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SELECT_TRANSACTIONS, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            var chunk = chunks[state.current];
+            // Conta nula (depósito, saque, juros) é lida como 0
+            chunk.add(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+            state.count++;
+
+            if (chunk.size == chunkSize) {
+                if (state.running != null)
+                    state.running.join();
+                state.running = ForkJoinPool.commonPool().submit(new ChunkTask(chunk, nets));
+                state.current ^= 1;
+                chunks[state.current].size = 0;
+            }
+        });
+
+        if (state.running != null)
+            state.running.join();
+        if (chunks[state.current].size > 0)
+            ForkJoinPool.commonPool().invoke(new ChunkTask(chunks[state.current], nets));
+
+        return state.count;
+    }
+
+    /**
+     * Bloco de transações em vetores primitivos.
+     */
+    private static final class Chunk {
+
+        final long[] sources;
+
+        final long[] receivers;
+
+        final long[] amounts;
+
+        int size;
+
+        Chunk(int capacity) {
+            sources = new long[capacity];
+            receivers = new long[capacity];
+            amounts = new long[capacity];
+        }
+
+        void add(long source, long receiver, long amount) {
+            sources[size] = source;
+            receivers[size] = receiver;
+            amounts[size] = amount;
+            size++;
+        }
+    }
+
+    /**
+     * Líquido por conta, dividido em partições pelo id da conta.
+     */
+    private static final class Nets {
+
+        final LongLongHashMap[] partitions;
+
+        Nets(int parallelism) {
+            partitions = new LongLongHashMap[Math.max(1, parallelism)];
+            for (int i = 0; i < partitions.length; i++)
+                partitions[i] = new LongLongHashMap(1024);
+        }
+
+        int partition(long accountId) {
+            // Multiplicador diferente do hash dos mapas, para que as chaves de
+            // uma partição não se concentrem em parte da tabela
+            return (int) (((accountId * 0xC2B2AE3D27D4EB4FL) >>> 33) % partitions.length);
+        }
+
+        long get(long accountId) {
+            return partitions[partition(accountId)].get(accountId);
+        }
+    }
+
+    /**
+     * Soma um bloco: uma tarefa por partição, cada uma percorre o bloco e só
+     * soma as contas da sua partição.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final Chunk chunk;
+
+        private final Nets nets;
+
+        private final int partition;
+
+        ChunkTask(Chunk chunk, Nets nets) {
+            this(chunk, nets, -1);
+        }
+
+        private ChunkTask(Chunk chunk, Nets nets, int partition) {
+            this.chunk = chunk;
+            this.nets = nets;
+            this.partition = partition;
+        }
+
+        @Override
+        protected void compute() {
+            if (partition < 0) {
+                var tasks = new ArrayList<ChunkTask>(nets.partitions.length);
+                for (int p = 0; p < nets.partitions.length; p++)
+                    tasks.add(new ChunkTask(chunk, nets, p));
+                invokeAll(tasks);
+                return;
+            }
+
+            var map = nets.partitions[partition];
+            for (int i = 0; i < chunk.size; i++) {
+                var source = chunk.sources[i];
+                var receiver = chunk.receivers[i];
+
+                if (source != 0 && nets.partition(source) == partition)
+                    map.add(source, -chunk.amounts[i]);
+                if (receiver != 0 && nets.partition(receiver) == partition)
+                    map.add(receiver, chunk.amounts[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.DailyVolume;
+import br.edu.utfpr.bankapi.model.MonthlyAccountFlow;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.DailyVolumeRepository;
+import br.edu.utfpr.bankapi.repository.MonthlyAccountFlowRepository;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+/**
+ * Relatórios lidos das tabelas de resumo mantidas pelo
+ * {@link RollupProjector}, sem consultar {@code tb_transaction}. Refletem as
+ * transações até alguns segundos atrás.
+ */
+@Service
+public class ReportService {
+
+    @Autowired
+    private DailyVolumeRepository dailyVolumeRepository;
+
+    @Autowired
+    private MonthlyAccountFlowRepository monthlyAccountFlowRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${bankapi.report.max-days:366}")
+    private int maxDays;
+
+    /**
+     * Quantidade e valor por tipo de transação em cada dia de
+     * {@code [from, to]}.
+     */
+    public List<DailyVolume> dailyVolume(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= maxDays)
+            throw new IllegalArgumentException("Intervalo deve ter entre 1 e " + maxDays + " dias");
+
+        return dailyVolumeRepository.findByDayBetweenOrderByDayAscTypeAsc(from, to);
+    }
+
+    /**
+     * Entradas e saídas da conta em cada mês de {@code [from, to]}
+     * (yyyy-MM).
+     */
+    public List<MonthlyAccountFlow> monthlyFlow(long number, String from, String to) throws NotFoundException {
+        var first = parseMonth(from);
+        var last = parseMonth(to);
+        if (first.isAfter(last))
+            throw new IllegalArgumentException("Mês inicial depois do mês final");
+
+        var account = accountRepository.getByNumber(number);
+        if (account.isEmpty())
+            throw new NotFoundException(AvailableAccountValidation.missing(number));
+
+        return monthlyAccountFlowRepository.findByAccountIdAndPeriodBetweenOrderByPeriodAsc(account.get().getId(),
+                first.toString(), last.toString());
+    }
+
+    private static YearMonth parseMonth(String month) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Mês inválido: " + month);
+        }
+    }
+}
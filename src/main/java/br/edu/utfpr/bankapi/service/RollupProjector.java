@@ -0,0 +1,283 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.model.DailyVolume;
+import br.edu.utfpr.bankapi.model.MonthlyAccountFlow;
+import br.edu.utfpr.bankapi.model.RollupAppliedTransaction;
+import br.edu.utfpr.bankapi.model.RollupCheckpoint;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mantém as tabelas de resumo ({@link DailyVolume},
+ * {@link MonthlyAccountFlow}) acompanhando {@code tb_transaction} pela chave
+ * primária.
+ *
+ * As operações não gravam nos resumos: uma linha por tipo e dia seria
+ * disputada por todas as transações do dia. O projetor lê em lotes as
+ * transações com id maior que o do {@link RollupCheckpoint} e soma cada lote
+ * com um UPDATE por linha de resumo, na mesma transação do banco que avança o
+ * checkpoint; cada transação é somada exatamente uma vez.
+ *
+ * Os ids são gerados antes do commit, então uma transação pode aparecer na
+ * tabela depois de outra com id maior: um lote grande, uma espera por
+ * bloqueio ou o relógio atrasado de outra instância. O projetor só lê ids
+ * gerados há mais de {@code lag-ms}, o que cobre os casos comuns, e a cada
+ * lote relê os ids dos últimos {@code rescan-window-ms} anteriores ao
+ * checkpoint: as transações encontradas ali que ainda não estão em
+ * {@link RollupAppliedTransaction} são somadas, registradas no log e contadas
+ * na métrica {@code bankapi.rollup.late}. A janela deve ser maior que a
+ * transação do banco mais longa.
+ */
+@Service
+public class RollupProjector {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupProjector.class);
+
+    private static final String SELECT_TRANSACTIONS = "select id, type, source_account_id, receiver_account_id,"
+            + " amount, date_time from tb_transaction where id > ? and id < ? order by id limit ?";
+
+    // Confirmadas depois que o checkpoint passou pelo id
+    private static final String SELECT_LATE = "select t.id, t.type, t.source_account_id, t.receiver_account_id,"
+            + " t.amount, t.date_time from tb_transaction t where t.id > ? and t.id <= ? and not exists"
+            + " (select 1 from tb_rollup_applied a where a.transaction_id = t.id) order by t.id limit ?";
+
+    private static final String INSERT_APPLIED = "insert into tb_rollup_applied (transaction_id) values (?)";
+
+    private static final String DELETE_APPLIED = "delete from tb_rollup_applied where transaction_id <= ?";
+
+    // Bloqueia o checkpoint: duas instâncias não projetam o mesmo lote
+    private static final String LOCK_CHECKPOINT = "select last_transaction_id from tb_rollup_checkpoint"
+            + " where id = ? for update";
+
+    private static final String INSERT_CHECKPOINT = "insert into tb_rollup_checkpoint (id, last_transaction_id)"
+            + " values (?, 0)";
+
+    private static final String UPDATE_CHECKPOINT = "update tb_rollup_checkpoint set last_transaction_id = ?"
+            + " where id = ?";
+
+    private static final String UPDATE_DAILY = "update tb_daily_volume"
+            + " set transaction_count = transaction_count + ?, amount = amount + ? where volume_day = ? and type = ?";
+
+    private static final String SELECT_DAILY = "select volume_day, type from tb_daily_volume"
+            + " where volume_day between ? and ?";
+
+    private static final String INSERT_DAILY = "insert into tb_daily_volume"
+            + " (volume_day, type, transaction_count, amount) values (?, ?, 0, 0)";
+
+    private static final String UPDATE_FLOW = "update tb_monthly_account_flow"
+            + " set inflow = inflow + ?, outflow = outflow + ?, inflow_count = inflow_count + ?,"
+            + " outflow_count = outflow_count + ? where account_id = ? and period = ?";
+
+    private static final String SELECT_FLOWS = "select account_id, period from tb_monthly_account_flow"
+            + " where period between ? and ? and account_id in (%s)";
+
+    private static final String INSERT_FLOW = "insert into tb_monthly_account_flow"
+            + " (account_id, period, inflow, outflow, inflow_count, outflow_count) values (?, ?, 0, 0, 0, 0)";
+
+    // Contas por consulta das linhas de resumo existentes
+    private static final int IN_LIMIT = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bankapi.rollup.batch-size:5000}")
+    private int batchSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bankapi.rollup.lag-ms:5000}")
+    private long lagMillis;
+
+    @Value("${bankapi.rollup.rescan-window-ms:600000}")
+    private long rescanWindowMillis;
+
+    @Scheduled(fixedDelayString = "${bankapi.rollup.interval-ms:1000}")
+    public void projectQuietly() {
+        try {
+            project();
+        } catch (RuntimeException ex) {
+            // O checkpoint não avançou; o lote é refeito na próxima execução
+            log.error("Falha ao atualizar as tabelas de resumo", ex);
+        }
+    }
+
+    /**
+     * Soma aos resumos todas as transações já visíveis.
+     *
+     * @return quantidade de transações somadas
+     */
+    public synchronized int project() {
+        var now = Instant.now();
+        var until = SnowflakeIdGenerator.firstIdAt(now.minusMillis(lagMillis));
+        var windowStart = SnowflakeIdGenerator.firstIdAt(now.minusMillis(lagMillis + rescanWindowMillis));
+        var template = new TransactionTemplate(transactionManager);
+        var total = 0;
+
+        while (true) {
+            var count = template.execute(status -> projectBatch(windowStart, until));
+            total += count;
+
+            if (count < batchSize)
+                return total;
+        }
+    }
+
+    private int projectBatch(long windowStart, long until) {
+        var checkpoint = jdbcTemplate.queryForList(LOCK_CHECKPOINT, Long.class, RollupCheckpoint.ID);
+        if (checkpoint.isEmpty()) {
+            jdbcTemplate.update(INSERT_CHECKPOINT, RollupCheckpoint.ID);
+            checkpoint = List.of(0L);
+        }
+
+        // Somas do lote por linha de resumo: {quantidade, valor} e
+        // {entradas, saídas, quantidade de entradas, quantidade de saídas}
+        Map<DailyVolume.Key, long[]> daily = new HashMap<>();
+        Map<MonthlyAccountFlow.Key, long[]> flows = new HashMap<>();
+        var applied = new ArrayList<Object[]>();
+        var last = new long[] { checkpoint.get(0) };
+        var count = new int[1];
+
+        RowCallbackHandler handler = rs -> {
+            count[0]++;
+            var id = rs.getLong(1);
+            last[0] = Math.max(last[0], id);
+            if (id > windowStart)
+                applied.add(new Object[] { id });
+
+            var type = TransactionType.valueOf(rs.getString(2));
+            var amount = rs.getLong(5);
+            var dateTime = rs.getTimestamp(6).toLocalDateTime();
+
+            var volume = daily.computeIfAbsent(new DailyVolume.Key(dateTime.toLocalDate(), type),
+                    key -> new long[2]);
+            volume[0]++;
+            volume[1] += amount;
+
+            var period = YearMonth.from(dateTime).toString();
+
+            var source = rs.getLong(3);
+            if (!rs.wasNull()) {
+                var flow = flows.computeIfAbsent(new MonthlyAccountFlow.Key(source, period), key -> new long[4]);
+                flow[1] += amount;
+                flow[3]++;
+            }
+
+            var receiver = rs.getLong(4);
+            if (!rs.wasNull()) {
+                var flow = flows.computeIfAbsent(new MonthlyAccountFlow.Key(receiver, period), key -> new long[4]);
+                flow[0] += amount;
+                flow[2]++;
+            }
+        };
+
+        jdbcTemplate.query(SELECT_LATE, handler, windowStart, checkpoint.get(0), batchSize);
+
+        if (count[0] > 0) {
+            log.warn("Tabelas de resumo: {} transações confirmadas depois do checkpoint somadas com atraso",
+                    count[0]);
+            meterRegistry.counter("bankapi.rollup.late").increment(count[0]);
+        }
+
+        if (count[0] < batchSize)
+            jdbcTemplate.query(SELECT_TRANSACTIONS, handler, checkpoint.get(0), until, batchSize - count[0]);
+
+        if (count[0] == 0)
+            return 0;
+
+        // Cria zeradas as linhas que ainda não existem e soma em todas. Com um
+        // único projetor por vez (checkpoint bloqueado), ninguém as cria no meio
+        insertMissingDaily(daily.keySet());
+        insertMissingFlows(flows.keySet());
+
+        var dailyRows = new ArrayList<Object[]>(daily.size());
+        daily.forEach((key, sums) -> dailyRows.add(new Object[] { sums[0], sums[1], Date.valueOf(key.getDay()),
+                key.getType().name() }));
+        jdbcTemplate.batchUpdate(UPDATE_DAILY, dailyRows);
+
+        var flowRows = new ArrayList<Object[]>(flows.size());
+        flows.forEach((key, sums) -> flowRows.add(new Object[] { sums[0], sums[1], sums[2], sums[3],
+                key.getAccountId(), key.getPeriod() }));
+        jdbcTemplate.batchUpdate(UPDATE_FLOW, flowRows);
+
+        // Só os ids da janela de releitura precisam ser lembrados
+        jdbcTemplate.batchUpdate(INSERT_APPLIED, applied);
+        jdbcTemplate.update(DELETE_APPLIED, windowStart);
+
+        jdbcTemplate.update(UPDATE_CHECKPOINT, last[0], RollupCheckpoint.ID);
+        return count[0];
+    }
+
+    /*
+     * A existência é consultada antes, em vez de inserir quando o UPDATE não
+     * encontra a linha: alguns drivers não informam as linhas afetadas por
+     * comando em um batch.
+     */
+
+    private void insertMissingDaily(Set<DailyVolume.Key> keys) {
+        var days = keys.stream().map(DailyVolume.Key::getDay).sorted().toList();
+        var existing = new HashSet<DailyVolume.Key>();
+
+        jdbcTemplate.query(SELECT_DAILY, rs -> {
+            existing.add(new DailyVolume.Key(rs.getDate(1).toLocalDate(), TransactionType.valueOf(rs.getString(2))));
+        }, Date.valueOf(days.get(0)), Date.valueOf(days.get(days.size() - 1)));
+
+        var rows = keys.stream()
+                .filter(key -> !existing.contains(key))
+                .map(key -> new Object[] { Date.valueOf(key.getDay()), key.getType().name() })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_DAILY, rows);
+    }
+
+    private void insertMissingFlows(Set<MonthlyAccountFlow.Key> keys) {
+        var periods = keys.stream().map(MonthlyAccountFlow.Key::getPeriod).sorted().toList();
+        var accounts = keys.stream().map(MonthlyAccountFlow.Key::getAccountId).distinct().toList();
+        var existing = new HashSet<MonthlyAccountFlow.Key>();
+
+        for (int i = 0; i < accounts.size(); i += IN_LIMIT) {
+            var ids = accounts.subList(i, Math.min(i + IN_LIMIT, accounts.size()));
+            var sql = String.format(SELECT_FLOWS, String.join(", ", Collections.nCopies(ids.size(), "?")));
+
+            var params = new ArrayList<Object>(ids.size() + 2);
+            params.add(periods.get(0));
+            params.add(periods.get(periods.size() - 1));
+            params.addAll(ids);
+
+            jdbcTemplate.query(sql, rs -> {
+                existing.add(new MonthlyAccountFlow.Key(rs.getLong(1), rs.getString(2)));
+            }, params.toArray());
+        }
+
+        var rows = keys.stream()
+                .filter(key -> !existing.contains(key))
+                .map(key -> new Object[] { key.getAccountId(), key.getPeriod() })
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_FLOW, rows);
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.dto.ScheduledTransferDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Recurrence;
+import br.edu.utfpr.bankapi.model.ScheduledTransfer;
+import br.edu.utfpr.bankapi.model.ScheduledTransferStatus;
+import br.edu.utfpr.bankapi.repository.ScheduledTransferRepository;
+import br.edu.utfpr.bankapi.scheduling.TransferScheduler;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+
+@Service
+public class ScheduledTransferService {
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    private AvailableAccountValidation availableAccountValidation;
+
+    /**
+     * Presente apenas com {@code bankapi.scheduled-transfers.enabled=true}.
+     */
+    @Autowired(required = false)
+    private TransferScheduler transferScheduler;
+
+    /**
+     * Agenda a transferência. Os instantes são truncados em segundos, a
+     * precisão do DATETIME de todos os bancos suportados: o scheduler compara
+     * a ocorrência com o valor gravado.
+     */
+    public ScheduledTransfer save(ScheduledTransferDTO dto) throws NotFoundException {
+        availableAccountValidation.validate(dto.sourceAccountNumber());
+        availableAccountValidation.validate(dto.receiverAccountNumber());
+
+        var first = dto.firstRunAt().truncatedTo(ChronoUnit.SECONDS);
+        var endsAt = dto.endsAt() == null ? null : dto.endsAt().truncatedTo(ChronoUnit.SECONDS);
+        if (endsAt != null && endsAt.isBefore(first))
+            throw new IllegalArgumentException("endsAt deve ser posterior a firstRunAt");
+
+        var schedule = new ScheduledTransfer();
+        schedule.setSourceAccountNumber(dto.sourceAccountNumber());
+        schedule.setReceiverAccountNumber(dto.receiverAccountNumber());
+        schedule.setAmount(dto.amount());
+        schedule.setRecurrence(dto.recurrence() == null ? Recurrence.NONE : dto.recurrence());
+        schedule.setFirstRunAt(first);
+        schedule.setEndsAt(endsAt);
+        schedule.setNextRunAt(first);
+        schedule.setStatus(ScheduledTransferStatus.ACTIVE);
+
+        var res = scheduledTransferRepository.saveAndFlush(schedule);
+
+        // Gravado: se vencer dentro da janela já carregada, entra direto no wheel
+        if (transferScheduler != null)
+            transferScheduler.schedule(res.getId(), res.getNextRunAt());
+
+        return res;
+    }
+
+    public ScheduledTransfer get(long id) throws NotFoundException {
+        return scheduledTransferRepository.findById(id).orElseThrow(NotFoundException::new);
+    }
+
+    /**
+     * Cancela as próximas execuções. Uma execução em andamento termina antes
+     * (o agendamento fica bloqueado por ela) e faz o cancelamento falhar por
+     * conflito de versão.
+     */
+    public ScheduledTransfer cancel(long id) throws NotFoundException {
+        var schedule = get(id);
+
+        if (schedule.getStatus() == ScheduledTransferStatus.ACTIVE) {
+            schedule.setStatus(ScheduledTransferStatus.CANCELED);
+            schedule = scheduledTransferRepository.save(schedule);
+        }
+
+        return schedule;
+    }
+}
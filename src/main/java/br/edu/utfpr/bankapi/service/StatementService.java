@@ -0,0 +1,143 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.cache.AccountCache;
+import br.edu.utfpr.bankapi.dto.StatementEntryDTO;
+import br.edu.utfpr.bankapi.dto.StatementPageDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+/**
+ * Extrato de uma conta com paginação por chave em (dateTime, id).
+ */
+@Service
+public class StatementService {
+
+    // Limites usados quando o intervalo não é informado; cabem no DATETIME de
+    // todos os bancos suportados
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1000, 1, 1, 0, 0);
+
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Value("${bankapi.statement.max-size:1000}")
+    private int maxPageSize;
+
+    /**
+     * Página do extrato da conta no intervalo {@code [from, to)}, da
+     * transação mais recente para a mais antiga.
+     *
+     * Origem e destino são consultados separadamente, cada um pelo seu
+     * índice, e as duas listas ordenadas são intercaladas aqui.
+     */
+    public StatementPageDTO getPage(long number, LocalDateTime from, LocalDateTime to, String cursor, int size)
+            throws NotFoundException {
+        if (size < 1 || size > maxPageSize)
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + maxPageSize);
+
+        var account = accountCache.get(number, accountRepository::getByNumber).orElseThrow(NotFoundException::new);
+
+        from = from == null ? MIN_DATE_TIME : from;
+        var before = to == null ? MAX_DATE_TIME : to;
+        var beforeId = Long.MIN_VALUE;
+
+        if (cursor != null) {
+            var key = decodeCursor(cursor);
+            // O cursor só pode restringir o intervalo pedido
+            if (!key.dateTime().isAfter(before)) {
+                before = key.dateTime();
+                beforeId = key.id();
+            }
+        }
+
+        var limit = Limit.of(size + 1);
+        var asSource = transactionRepository.findStatementAsSource(account.getId(), from, before, beforeId, limit);
+        var asReceiver = transactionRepository.findStatementAsReceiver(account.getId(), from, before, beforeId,
+                limit);
+
+        var entries = merge(asSource, asReceiver, size + 1);
+
+        String next = null;
+        if (entries.size() > size) {
+            entries = entries.subList(0, size);
+            var last = entries.get(size - 1);
+            next = encodeCursor(last.dateTime(), last.id());
+        }
+
+        return new StatementPageDTO(entries, next);
+    }
+
+    /**
+     * Intercala duas listas em ordem decrescente de (dateTime, id). Uma
+     * transferência da conta para ela mesma aparece nas duas e entra uma vez.
+     */
+    private static List<StatementEntryDTO> merge(List<StatementEntryDTO> a, List<StatementEntryDTO> b, int max) {
+        var result = new ArrayList<StatementEntryDTO>(Math.min(max, a.size() + b.size()));
+        int i = 0, j = 0;
+
+        while (result.size() < max && (i < a.size() || j < b.size())) {
+            StatementEntryDTO next;
+
+            if (j >= b.size())
+                next = a.get(i++);
+            else if (i >= a.size())
+                next = b.get(j++);
+            else {
+                var cmp = compare(a.get(i), b.get(j));
+                if (cmp == 0) {
+                    next = a.get(i++);
+                    j++;
+                } else
+                    next = cmp > 0 ? a.get(i++) : b.get(j++);
+            }
+
+            result.add(next);
+        }
+
+        return result;
+    }
+
+    private static int compare(StatementEntryDTO x, StatementEntryDTO y) {
+        var cmp = x.dateTime().compareTo(y.dateTime());
+        return cmp != 0 ? cmp : Long.compare(x.id(), y.id());
+    }
+
+    private record Key(LocalDateTime dateTime, long id) {
+    }
+
+    private static String encodeCursor(LocalDateTime dateTime, long id) {
+        var raw = dateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Key decodeCursor(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            var separator = raw.indexOf('|');
+            return new Key(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
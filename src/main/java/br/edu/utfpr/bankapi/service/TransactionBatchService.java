@@ -0,0 +1,202 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.edu.utfpr.bankapi.concurrency.ConcurrencyStrategy;
+import br.edu.utfpr.bankapi.concurrency.RetryOnConflict;
+import br.edu.utfpr.bankapi.dto.BatchDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemDTO;
+import br.edu.utfpr.bankapi.dto.BatchItemResultDTO;
+import br.edu.utfpr.bankapi.dto.BatchMode;
+import br.edu.utfpr.bankapi.exception.BatchRejectedException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.util.LongObjectHashMap;
+import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import br.edu.utfpr.bankapi.validations.AvailableBalanceValidation;
+import jakarta.transaction.Transactional;
+
+/**
+ * Execução de lotes de transferências, depósitos e saques em uma única
+ * transação do banco.
+ *
+ * Todas as contas do lote são obtidas com uma única consulta, as operações
+ * são aplicadas em memória na ordem recebida e as transações são gravadas de
+ * uma só vez, aproveitando o batch do JDBC.
+ */
+@Service
+public class TransactionBatchService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AvailableBalanceValidation availableBalanceValidation;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Value("${bankapi.concurrency.strategy:optimistic}")
+    private ConcurrencyStrategy concurrencyStrategy;
+
+    @Value("${bankapi.batch.max-items:10000}")
+    private int maxItems;
+
+    /**
+     * Executa o lote e devolve o resultado de cada item, na ordem enviada.
+     *
+     * @throws BatchRejectedException lote {@code ALL_OR_NOTHING} com algum
+     *                                item rejeitado; nada é gravado
+     */
+    @RetryOnConflict
+    @Transactional
+    public List<BatchItemResultDTO> execute(BatchDTO dto) {
+        if (dto.items().size() > maxItems)
+            throw new IllegalArgumentException("Lote excede o limite de " + maxItems + " itens");
+
+        if (ledgerEngine != null)
+            return executeOnLedger(dto);
+
+        var accounts = accounts(dto.items());
+        var results = new ArrayList<BatchItemResultDTO>(dto.items().size());
+        var transactions = new ArrayList<Transaction>(dto.items().size());
+
+        for (int i = 0; i < dto.items().size(); i++) {
+            var result = apply(dto.items().get(i), accounts);
+
+            if (result.isSuccess()) {
+                transactions.add(result.transaction());
+                results.add(BatchItemResultDTO.success(i, result.transaction()));
+            } else {
+                results.add(BatchItemResultDTO.failure(i, result.message()));
+
+                if (dto.mode() == BatchMode.ALL_OR_NOTHING)
+                    throw new BatchRejectedException(results);
+            }
+        }
+
+        // Salvando as transações do lote
+        transactionRepository.saveAll(transactions);
+
+        return results;
+    }
+
+    /**
+     * Busca em uma única consulta todas as contas referenciadas pelo lote.
+     */
+    private LongObjectHashMap<Account> accounts(List<BatchItemDTO> items) {
+        var numbers = new HashSet<Long>();
+        for (var item : items) {
+            if (item.transfer() != null) {
+                numbers.add(item.transfer().sourceAccountNumber());
+                numbers.add(item.transfer().receiverAccountNumber());
+            } else if (item.deposit() != null) {
+                numbers.add(item.deposit().receiverAccountNumber());
+            } else {
+                numbers.add(item.withdraw().sourceAccountNumber());
+            }
+        }
+
+        var found = concurrencyStrategy == ConcurrencyStrategy.PESSIMISTIC
+                ? accountRepository.findByNumberInForUpdate(numbers)
+                : accountRepository.findByNumberIn(numbers);
+
+        var accounts = new LongObjectHashMap<Account>(found.size());
+        for (var account : found)
+            accounts.put(account.getNumber(), account);
+
+        return accounts;
+    }
+
+    /**
+     * Aplica um item sobre as contas em memória. Nada é alterado quando o item
+     * é rejeitado.
+     */
+    private TransactionResult apply(BatchItemDTO item, LongObjectHashMap<Account> accounts) {
+        if (item.transfer() != null) {
+            var dto = item.transfer();
+            var missing = AvailableAccountValidation.missing(accounts, dto.sourceAccountNumber(),
+                    dto.receiverAccountNumber());
+            if (missing != null)
+                return TransactionResult.notFound(missing);
+
+            var source = accounts.get(dto.sourceAccountNumber());
+            var receiver = accounts.get(dto.receiverAccountNumber());
+
+            var transaction = new Transaction(source, receiver, dto.amount(), TransactionType.TRANSFER);
+            if (!availableBalanceValidation.hasBalance(transaction))
+                return TransactionResult.WITHOUT_BALANCE;
+
+            source.setBalance(source.getBalance() - dto.amount());
+            receiver.setBalance(receiver.getBalance() + dto.amount());
+            return TransactionResult.success(transaction);
+        }
+
+        if (item.deposit() != null) {
+            var dto = item.deposit();
+            var receiver = accounts.get(dto.receiverAccountNumber());
+            if (receiver == null)
+                return TransactionResult.notFound(AvailableAccountValidation.missing(dto.receiverAccountNumber()));
+
+            receiver.setBalance(receiver.getBalance() + dto.amount());
+            return TransactionResult.success(new Transaction(null, receiver, dto.amount(), TransactionType.DEPOSIT));
+        }
+
+        var dto = item.withdraw();
+        var source = accounts.get(dto.sourceAccountNumber());
+        if (source == null)
+            return TransactionResult.notFound(AvailableAccountValidation.missing(dto.sourceAccountNumber()));
+
+        var transaction = new Transaction(source, null, dto.amount(), TransactionType.WITHDRAW);
+        if (!availableBalanceValidation.hasBalance(transaction))
+            return TransactionResult.WITHOUT_BALANCE;
+
+        source.setBalance(source.getBalance() - dto.amount());
+        return TransactionResult.success(transaction);
+    }
+
+    /**
+     * Com o ledger ativo, o saldo das contas está nas partições; os itens são
+     * encaminhados um a um, sem a garantia de tudo ou nada.
+     */
+    private List<BatchItemResultDTO> executeOnLedger(BatchDTO dto) {
+        if (dto.mode() == BatchMode.ALL_OR_NOTHING)
+            throw new IllegalArgumentException("Modo ALL_OR_NOTHING indisponível com o ledger em memória");
+
+        var results = new ArrayList<BatchItemResultDTO>(dto.items().size());
+
+        for (int i = 0; i < dto.items().size(); i++) {
+            var item = dto.items().get(i);
+
+            TransactionResult result;
+            if (item.transfer() != null)
+                result = transactionService.tryTransfer(item.transfer());
+            else if (item.deposit() != null)
+                result = transactionService.tryDeposit(item.deposit());
+            else
+                result = transactionService.tryWithdraw(item.withdraw());
+
+            results.add(result.isSuccess()
+                    ? BatchItemResultDTO.success(i, result.transaction())
+                    : BatchItemResultDTO.failure(i, result.message()));
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,313 @@
+package br.edu.utfpr.bankapi.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
+
+/**
+ * Exportação de {@code tb_transaction} em um intervalo de datas, em NDJSON ou
+ * CSV.
+ *
+ * As linhas vêm de um cursor do banco somente para frente e cada uma é
+ * codificada diretamente em um buffer de bytes reaproveitado, escrito na
+ * resposta quando enche: não há entidades, DTOs nem textos intermediários por
+ * linha, e a memória usada não depende do tamanho do intervalo.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final String SELECT_TRANSACTIONS = "select t.id, t.type, s.number, r.number, t.amount,"
+            + " t.date_time from tb_transaction t"
+            + " left join tb_account s on s.id = t.source_account_id"
+            + " left join tb_account r on r.id = t.receiver_account_id"
+            + " where t.date_time >= ? and t.date_time < ? order by t.date_time, t.id";
+
+    private static final byte[] CSV_HEADER = "id,type,sourceAccountNumber,receiverAccountNumber,amount,dateTime\n"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    // Nomes dos campos do JSON, os mesmos de TransactionResponseDTO
+    private static final byte[] JSON_ID = ascii("{\"id\":");
+
+    private static final byte[] JSON_TYPE = ascii(",\"type\":\"");
+
+    private static final byte[] JSON_SOURCE = ascii("\",\"sourceAccountNumber\":");
+
+    private static final byte[] JSON_RECEIVER = ascii(",\"receiverAccountNumber\":");
+
+    private static final byte[] JSON_AMOUNT = ascii(",\"amount\":");
+
+    private static final byte[] JSON_DATE_TIME = ascii(",\"dateTime\":\"");
+
+    private static final byte[] JSON_END = ascii("\"}\n");
+
+    private static final byte[] NULL = ascii("null");
+
+    private static final byte[][] TYPES = new byte[TransactionType.values().length][];
+
+    static {
+        for (var type : TransactionType.values())
+            TYPES[type.ordinal()] = ascii(type.name());
+    }
+
+    // Maior linha possível, com folga: o buffer é escrito antes de faltar espaço
+    private static final int MAX_ROW_BYTES = 256;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${bankapi.transaction-export.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${bankapi.transaction-export.buffer-size:65536}")
+    private int bufferSize;
+
+    /**
+     * Corpo da exportação das transações do intervalo {@code [from, to)}, em
+     * ordem de data e id. O intervalo é validado aqui, antes de a resposta
+     * começar.
+     *
+     * @param gzip comprime a saída (a resposta deve ter
+     *             {@code Content-Encoding: gzip})
+     * @throws IllegalArgumentException se o intervalo for inválido
+     */
+    public StreamingResponseBody export(LocalDateTime from, LocalDateTime to, Format format, boolean gzip) {
+        if (from == null || to == null || !from.isBefore(to))
+            throw new IllegalArgumentException("Informe um intervalo com from anterior a to");
+
+        return out -> {
+            if (gzip) {
+                var compressed = new GZIPOutputStream(out, bufferSize);
+                write(compressed, from, to, format);
+                compressed.finish();
+            } else {
+                write(out, from, to, format);
+            }
+        };
+    }
+
+    private void write(OutputStream out, LocalDateTime from, LocalDateTime to, Format format) throws IOException {
+        var encoder = new RowEncoder(out, bufferSize);
+        if (format == Format.CSV)
+            encoder.write(CSV_HEADER);
+
+        var template = new TransactionTemplate(transactionManager);
+        // Transação somente leitura: o PostgreSQL só usa o cursor fora do autocommit
+        template.setReadOnly(true);
+
+        try {
+            template.executeWithoutResult(status -> {
+                jdbcTemplate.query(connection -> {
+                    var statement = connection.prepareStatement(SELECT_TRANSACTIONS, ResultSet.TYPE_FORWARD_ONLY,
+                            ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    statement.setTimestamp(1, Timestamp.valueOf(from));
+                    statement.setTimestamp(2, Timestamp.valueOf(to));
+                    return statement;
+                }, rs -> {
+                    try {
+                        if (format == Format.CSV)
+                            encoder.csv(rs);
+                        else
+                            encoder.json(rs);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            });
+        } catch (UncheckedIOException ex) {
+            // Cliente desconectado: a consulta já foi encerrada
+            throw ex.getCause();
+        }
+
+        encoder.flush();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Codifica as linhas do cursor em um único buffer de bytes. Todo o
+     * conteúdo é ASCII: números, nomes dos tipos e datas.
+     */
+    private static final class RowEncoder {
+
+        private final OutputStream out;
+
+        private final byte[] buffer;
+
+        private int position;
+
+        RowEncoder(OutputStream out, int size) {
+            this.out = out;
+            this.buffer = new byte[Math.max(size, MAX_ROW_BYTES * 4)];
+        }
+
+        void json(ResultSet rs) throws SQLException, IOException {
+            reserve();
+            write(JSON_ID);
+            writeLong(rs.getLong(1));
+            write(JSON_TYPE);
+            write(TYPES[TransactionType.valueOf(rs.getString(2)).ordinal()]);
+            write(JSON_SOURCE);
+            writeNullableLong(rs, 3, NULL);
+            write(JSON_RECEIVER);
+            writeNullableLong(rs, 4, NULL);
+            write(JSON_AMOUNT);
+            writeMoney(rs.getLong(5));
+            write(JSON_DATE_TIME);
+            writeDateTime(rs.getTimestamp(6).toLocalDateTime());
+            write(JSON_END);
+        }
+
+        void csv(ResultSet rs) throws SQLException, IOException {
+            reserve();
+            writeLong(rs.getLong(1));
+            buffer[position++] = ',';
+            write(TYPES[TransactionType.valueOf(rs.getString(2)).ordinal()]);
+            buffer[position++] = ',';
+            writeNullableLong(rs, 3, null);
+            buffer[position++] = ',';
+            writeNullableLong(rs, 4, null);
+            buffer[position++] = ',';
+            writeMoney(rs.getLong(5));
+            buffer[position++] = ',';
+            writeDateTime(rs.getTimestamp(6).toLocalDateTime());
+            buffer[position++] = '\n';
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - position)
+                flush();
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void reserve() throws IOException {
+            if (buffer.length - position < MAX_ROW_BYTES)
+                flush();
+        }
+
+        private void writeNullableLong(ResultSet rs, int column, byte[] ifNull) throws SQLException {
+            var value = rs.getLong(column);
+            if (!rs.wasNull())
+                writeLong(value);
+            else if (ifNull != null) {
+                System.arraycopy(ifNull, 0, buffer, position, ifNull.length);
+                position += ifNull.length;
+            }
+        }
+
+        private void writeLong(long value) {
+            if (value < 0) {
+                buffer[position++] = '-';
+                if (value == Long.MIN_VALUE) {
+                    // Sem valor positivo correspondente
+                    var digits = ascii(Long.toString(value).substring(1));
+                    System.arraycopy(digits, 0, buffer, position, digits.length);
+                    position += digits.length;
+                    return;
+                }
+                value = -value;
+            }
+
+            var digits = digits(value);
+            var end = position + digits;
+            for (int i = end - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position = end;
+        }
+
+        /**
+         * Centavos como reais com duas casas, como {@link Money#format(long)}.
+         */
+        private void writeMoney(long cents) {
+            if (cents < 0) {
+                buffer[position++] = '-';
+                cents = -cents;
+            }
+
+            writeLong(cents / Money.CENTS_PER_UNIT);
+            buffer[position++] = '.';
+            writeDigits(cents % Money.CENTS_PER_UNIT, 2);
+        }
+
+        /**
+         * Mesmo texto do {@code ISO_LOCAL_DATE_TIME} usado pelo Jackson:
+         * segundos sempre presentes e fração sem os zeros à direita.
+         */
+        private void writeDateTime(LocalDateTime dateTime) {
+            writeDigits(dateTime.getYear(), 4);
+            buffer[position++] = '-';
+            writeDigits(dateTime.getMonthValue(), 2);
+            buffer[position++] = '-';
+            writeDigits(dateTime.getDayOfMonth(), 2);
+            buffer[position++] = 'T';
+            writeDigits(dateTime.getHour(), 2);
+            buffer[position++] = ':';
+            writeDigits(dateTime.getMinute(), 2);
+            buffer[position++] = ':';
+            writeDigits(dateTime.getSecond(), 2);
+
+            var nano = dateTime.getNano();
+            if (nano != 0) {
+                var width = 9;
+                while (nano % 10 == 0) {
+                    nano /= 10;
+                    width--;
+                }
+                buffer[position++] = '.';
+                writeDigits(nano, width);
+            }
+        }
+
+        // Valor não negativo com exatamente width dígitos (zeros à esquerda)
+        private void writeDigits(long value, int width) {
+            for (int i = position + width - 1; i >= position; i--) {
+                buffer[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position += width;
+        }
+
+        private static int digits(long value) {
+            var digits = 1;
+            while (value >= 10) {
+                value /= 10;
+                digits++;
+            }
+            return digits;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.utfpr.bankapi.service;
+
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.validations.Rejection;
+
+/**
+ * Resultado de uma operação: a transação gravada ou o motivo da recusa.
+ *
+ * As recusas esperadas não criam exceções, cujo custo é dominado pelo
+ * preenchimento da pilha. A recusa por saldo insuficiente é sempre a mesma
+ * instância.
+ */
+public record TransactionResult(Transaction transaction, Rejection rejection, String message) {
+
+    public static final TransactionResult WITHOUT_BALANCE = new TransactionResult(null, Rejection.WITHOUT_BALANCE,
+            WithoutBalanceException.MESSAGE);
+
+    public static TransactionResult success(Transaction transaction) {
+        return new TransactionResult(transaction, null, null);
+    }
+
+    public static TransactionResult notFound(String message) {
+        return new TransactionResult(null, Rejection.NOT_FOUND, message);
+    }
+
+    public boolean isSuccess() {
+        return rejection == null;
+    }
+
+    /**
+     * A transação gravada ou, na recusa, a exceção equivalente.
+     */
+    public Transaction orElseThrow() throws NotFoundException {
+        if (rejection == Rejection.NOT_FOUND)
+            throw new NotFoundException(message);
+        if (rejection == Rejection.WITHOUT_BALANCE)
+            throw new WithoutBalanceException();
+
+        return transaction;
+    }
+}
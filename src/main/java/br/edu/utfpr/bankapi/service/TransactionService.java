@@ -1,13 +1,25 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Optional;
+
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import br.edu.utfpr.bankapi.concurrency.ConcurrencyStrategy;
+import br.edu.utfpr.bankapi.concurrency.RetryOnConflict;
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.dto.TransferDTO;
 import br.edu.utfpr.bankapi.dto.WithdrawDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.ledger.LedgerEngine;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Operation;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics.Phase;
+import br.edu.utfpr.bankapi.metrics.TransactionSample;
+import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
@@ -26,37 +38,110 @@ public class TransactionService {
     @Autowired
     private AvailableAccountValidation availableAccountValidation;
 
+    /**
+     * Motor de ledger em memória, presente apenas quando
+     * {@code bankapi.ledger.enabled=true}.
+     */
+    @Autowired(required = false)
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionMetrics transactionMetrics;
+
+    @Autowired
+    private HotAccountService hotAccountService;
+
+    @Value("${bankapi.concurrency.strategy:optimistic}")
+    private ConcurrencyStrategy concurrencyStrategy;
+
+    /**
+     * Obtém a conta, bloqueando-a quando a estratégia for pessimista.
+     */
+    private Optional<Account> account(long number) {
+        return concurrencyStrategy == ConcurrencyStrategy.PESSIMISTIC
+                ? availableAccountValidation.findForUpdate(number)
+                : availableAccountValidation.find(number);
+    }
+
+    /**
+     * Credita o valor na conta, ou em uma das parcelas se ela for quente: a
+     * conta quente não é alterada e não conflita com outros créditos.
+     */
+    private void credit(Account account, long amount) {
+        if (account.getHotSlots() > 0)
+            hotAccountService.credit(account, amount);
+        else
+            account.setBalance(account.getBalance() + amount);
+    }
+
+    @RetryOnConflict
     @Transactional
     public Transaction transfer(TransferDTO dto) throws NotFoundException {
+        return tryTransfer(dto).orElseThrow();
+    }
+
+    /**
+     * Transferência que devolve as recusas esperadas (conta inexistente,
+     * saldo insuficiente) como resultado, sem exceção.
+     */
+    @RetryOnConflict
+    @Transactional
+    public TransactionResult tryTransfer(TransferDTO dto) {
+        var sample = transactionMetrics.start(Operation.TRANSFER);
+        try {
+            return rejected(sample, transfer(dto, sample));
+        } catch (RuntimeException ex) {
+            sample.failed(ex);
+            throw ex;
+        } finally {
+            sample.finish();
+        }
+    }
+
+    private TransactionResult transfer(TransferDTO dto, TransactionSample sample) {
+        if (ledgerEngine != null)
+            return onLedger(() -> ledgerEngine.transfer(dto));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.TRANSFER);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém a Conta de ORIGEM da transferência
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
-        // Valida e obtém Conta de DESTINO da transferência
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        // Obtém as duas contas em uma única consulta. No modo pessimista elas
+        // são bloqueadas na ordem crescente do número, para que
+        // transferências cruzadas concorrentes não entrem em deadlock
+        var accounts = concurrencyStrategy == ConcurrencyStrategy.PESSIMISTIC
+                ? availableAccountValidation.findAllForUpdate(dto.sourceAccountNumber(),
+                        dto.receiverAccountNumber())
+                : availableAccountValidation.findAll(dto.sourceAccountNumber(), dto.receiverAccountNumber());
+
+        // Valida se as contas de ORIGEM e DESTINO existem
+        var missing = AvailableAccountValidation.missing(accounts, dto.sourceAccountNumber(),
+                dto.receiverAccountNumber());
+        if (missing != null)
+            return TransactionResult.notFound(missing);
 
         // Seta a conta de origem da transferência
-        transaction.setSourceAccount(source);
+        transaction.setSourceAccount(accounts.get(dto.sourceAccountNumber()));
         // Seta a conta de destino da transferência
-        transaction.setReceiverAccount(receiver);
+        transaction.setReceiverAccount(accounts.get(dto.receiverAccountNumber()));
+        sample.phase(Phase.LOOKUP);
 
         // Verifica se a conta de origem possui saldo
-        availableBalanceValidation.validate(transaction);
+        if (!availableBalanceValidation.hasBalance(transaction))
+            return TransactionResult.WITHOUT_BALANCE;
+        sample.phase(Phase.VALIDATION);
 
         // Debitando o valor da conta de origem
         transaction.getSourceAccount()
                 .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
 
         // Creditando o valor na conta de destino
-        transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
-
-        System.out.println(transaction);
+        credit(transaction.getReceiverAccount(), transaction.getAmount());
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        var saved = transactionRepository.save(transaction);
+        sample.phase(Phase.PERSISTENCE);
+        return TransactionResult.success(saved);
     }
 
     /**
@@ -66,26 +151,56 @@ public class TransactionService {
      * 
      * @throws Exception
      */
+    @RetryOnConflict
     @Transactional
     public Transaction deposit(DepositDTO dto) throws NotFoundException {
+        return tryDeposit(dto).orElseThrow();
+    }
+
+    /**
+     * Depósito que devolve a recusa por conta inexistente como resultado.
+     */
+    @RetryOnConflict
+    @Transactional
+    public TransactionResult tryDeposit(DepositDTO dto) {
+        var sample = transactionMetrics.start(Operation.DEPOSIT);
+        try {
+            return rejected(sample, deposit(dto, sample));
+        } catch (RuntimeException ex) {
+            sample.failed(ex);
+            throw ex;
+        } finally {
+            sample.finish();
+        }
+    }
+
+    private TransactionResult deposit(DepositDTO dto, TransactionSample sample) {
+        if (ledgerEngine != null)
+            return onLedger(() -> ledgerEngine.deposit(dto));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.DEPOSIT);
         BeanUtils.copyProperties(dto, transaction);
 
-        // Valida e obtém Conta de DESTINO do depósito
-        var receiver = availableAccountValidation.validate(dto.receiverAccountNumber());
+        // Valida e obtém Conta de DESTINO do depósito. Uma conta quente não é
+        // alterada pelo depósito, então não precisa ser bloqueada
+        var receiver = hotAccountService.isHot(dto.receiverAccountNumber())
+                ? availableAccountValidation.find(dto.receiverAccountNumber())
+                : account(dto.receiverAccountNumber());
+        if (receiver.isEmpty())
+            return TransactionResult.notFound(AvailableAccountValidation.missing(dto.receiverAccountNumber()));
 
         // Seta a conta de destino do depósito
-        transaction.setReceiverAccount(receiver);
-
-        System.out.println(transaction);
+        transaction.setReceiverAccount(receiver.get());
+        sample.phase(Phase.LOOKUP);
 
         // Creditando o valor do depósito na conta de destino
-        transaction.getReceiverAccount()
-                .setBalance(transaction.getReceiverAccount().getBalance() + transaction.getAmount());
+        credit(transaction.getReceiverAccount(), transaction.getAmount());
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        var saved = transactionRepository.save(transaction);
+        sample.phase(Phase.PERSISTENCE);
+        return TransactionResult.success(saved);
     }
 
     /**
@@ -95,28 +210,82 @@ public class TransactionService {
      * 
      * @throws Exception
      */
+    @RetryOnConflict
     @Transactional
     public Transaction withdraw(WithdrawDTO dto) throws NotFoundException {
+        return tryWithdraw(dto).orElseThrow();
+    }
+
+    /**
+     * Saque que devolve as recusas esperadas como resultado, sem exceção.
+     */
+    @RetryOnConflict
+    @Transactional
+    public TransactionResult tryWithdraw(WithdrawDTO dto) {
+        var sample = transactionMetrics.start(Operation.WITHDRAW);
+        try {
+            return rejected(sample, withdraw(dto, sample));
+        } catch (RuntimeException ex) {
+            sample.failed(ex);
+            throw ex;
+        } finally {
+            sample.finish();
+        }
+    }
+
+    private TransactionResult withdraw(WithdrawDTO dto, TransactionSample sample) {
+        if (ledgerEngine != null)
+            return onLedger(() -> ledgerEngine.withdraw(dto));
+
         var transaction = new Transaction();
         transaction.setType(TransactionType.WITHDRAW);
         BeanUtils.copyProperties(dto, transaction);
 
         // Valida e obtém a Conta de ORIGEM do Saque
-        var source = availableAccountValidation.validate(dto.sourceAccountNumber());
+        var source = account(dto.sourceAccountNumber());
+        if (source.isEmpty())
+            return TransactionResult.notFound(AvailableAccountValidation.missing(dto.sourceAccountNumber()));
 
         // Setando a conta de origem do saque
-        transaction.setSourceAccount(source);
+        transaction.setSourceAccount(source.get());
+        sample.phase(Phase.LOOKUP);
 
         // Verifica se a conta de origem possui saldo
-        availableBalanceValidation.validate(transaction);
-
-        System.out.println(transaction);
+        if (!availableBalanceValidation.hasBalance(transaction))
+            return TransactionResult.WITHOUT_BALANCE;
+        sample.phase(Phase.VALIDATION);
 
         // Debitando o valor da conta de origem do saque
         transaction.getSourceAccount()
                 .setBalance(transaction.getSourceAccount().getBalance() - transaction.getAmount());
 
         // Salvando a transação
-        return transactionRepository.save(transaction);
+        var saved = transactionRepository.save(transaction);
+        sample.phase(Phase.PERSISTENCE);
+        return TransactionResult.success(saved);
+    }
+
+    private static TransactionResult rejected(TransactionSample sample, TransactionResult result) {
+        if (!result.isSuccess())
+            sample.rejected(result.rejection());
+        return result;
+    }
+
+    private interface LedgerOperation {
+        Transaction execute() throws NotFoundException;
+    }
+
+    /**
+     * As partições do ledger recusam com exceções (sem pilha), que aqui
+     * viram resultado.
+     */
+    private static TransactionResult onLedger(LedgerOperation operation) {
+        try {
+            return TransactionResult.success(operation.execute());
+        } catch (NotFoundException ex) {
+            return TransactionResult.notFound(ex.getMessage());
+        } catch (WithoutBalanceException ex) {
+            return TransactionResult.WITHOUT_BALANCE;
+        }
     }
 }
@@ -0,0 +1,109 @@
+package br.edu.utfpr.bankapi.util;
+
+/**
+ * Mapa de chaves e valores {@code long} com endereçamento aberto (sondagem
+ * linear), para acumular somas por conta sem caixas {@code Long}.
+ *
+ * Não é thread-safe. Chaves ausentes valem zero. Não há remoção.
+ */
+public class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+
+    private long[] values;
+
+    private boolean[] used;
+
+    private int mask;
+
+    private int size;
+
+    public LongLongHashMap() {
+        this(8);
+    }
+
+    /**
+     * @param expectedSize quantidade de entradas esperada, para evitar
+     *                     redimensionamentos
+     */
+    public LongLongHashMap(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Mesma mistura de {@link LongObjectHashMap}: ids e números sequenciais se
+     * espalham pela tabela.
+     */
+    public static int hash(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        var index = hash(key) & mask;
+        while (used[index] && keys[index] != key)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    public long get(long key) {
+        return values[slot(key)];
+    }
+
+    public boolean containsKey(long key) {
+        return used[slot(key)];
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave, criando-a se preciso.
+     */
+    public void add(long key, long delta) {
+        var index = slot(key);
+
+        if (!used[index]) {
+            used[index] = true;
+            keys[index] = key;
+
+            if (++size > keys.length * LOAD_FACTOR) {
+                resize();
+                index = slot(key);
+            }
+        }
+
+        values[index] += delta;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        var oldUsed = used;
+        allocate(keys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                var index = slot(oldKeys[i]);
+                used[index] = true;
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -0,0 +1,105 @@
+package br.edu.utfpr.bankapi.util;
+
+/**
+ * Mapa de chaves {@code long} com endereçamento aberto (sondagem linear),
+ * sem caixas {@code Long} nem nós por entrada.
+ *
+ * Não é thread-safe e não permite valores nulos. Não há remoção: o mapa é
+ * pensado para ser montado uma vez e consultado, como o resultado de uma
+ * consulta por várias chaves.
+ */
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    public LongObjectHashMap() {
+        this(8);
+    }
+
+    /**
+     * @param expectedSize quantidade de entradas esperada, para evitar
+     *                     redimensionamentos
+     */
+    public LongObjectHashMap(int expectedSize) {
+        var capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        // Mistura os bits para que números de conta sequenciais se espalhem
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        var index = hash(key) & mask;
+        while (values[index] != null && keys[index] != key)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[slot(key)];
+    }
+
+    public boolean containsKey(long key) {
+        return values[slot(key)] != null;
+    }
+
+    /**
+     * @return o valor anterior da chave, ou {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("Valores nulos não são permitidos");
+
+        var index = slot(key);
+        var previous = (V) values[index];
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (previous == null && ++size > keys.length * LOAD_FACTOR)
+            resize();
+
+        return previous;
+    }
+
+    private void resize() {
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(keys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                var index = slot(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
@@ -1,11 +1,19 @@
 package br.edu.utfpr.bankapi.validations;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import br.edu.utfpr.bankapi.exception.NotFoundException;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.util.LongObjectHashMap;
 
 /**
  * Validar se existe uma conta cadastrada
@@ -20,9 +28,112 @@ public class AvailableAccountValidation {
         var account = accountRepository.getByNumber(number); // Busca uma conta
 
         if (account.isEmpty())
-            throw new NotFoundException("Conta " + number + " inexistente");
+            throw new NotFoundException(missing(number));
+
+        return account.get();
+    }
+
+    /**
+     * Valida a conta e a mantém bloqueada até o fim da transação corrente.
+     */
+    public Account validateForUpdate(long number) throws NotFoundException {
+        var account = accountRepository.getByNumberForUpdate(number); // Busca e bloqueia a conta
+
+        if (account.isEmpty())
+            throw new NotFoundException(missing(number));
 
         return account.get();
     }
 
-}
\ No newline at end of file
+    /**
+     * Como {@link #validate(long)}, sem lançar exceção.
+     */
+    public Optional<Account> find(long number) {
+        return accountRepository.getByNumber(number);
+    }
+
+    /**
+     * Como {@link #validateForUpdate(long)}, sem lançar exceção.
+     */
+    public Optional<Account> findForUpdate(long number) {
+        return accountRepository.getByNumberForUpdate(number);
+    }
+
+    /**
+     * Valida e obtém várias contas com uma única consulta {@code IN}, indexadas
+     * pelo número.
+     *
+     * @throws NotFoundException com todos os números inexistentes
+     */
+    public LongObjectHashMap<Account> validateAll(long... numbers) throws NotFoundException {
+        return requireAll(findAll(numbers), numbers);
+    }
+
+    /**
+     * Como {@link #validateAll(long...)}, bloqueando as contas na ordem
+     * crescente do número até o fim da transação corrente.
+     */
+    public LongObjectHashMap<Account> validateAllForUpdate(long... numbers) throws NotFoundException {
+        return requireAll(findAllForUpdate(numbers), numbers);
+    }
+
+    /**
+     * Como {@link #validateAll(long...)}, sem lançar exceção: as contas
+     * inexistentes ficam fora do mapa (ver {@link #missing}).
+     */
+    public LongObjectHashMap<Account> findAll(long... numbers) {
+        return byNumber(accountRepository.findByNumberIn(distinct(numbers)));
+    }
+
+    /**
+     * Como {@link #validateAllForUpdate(long...)}, sem lançar exceção.
+     */
+    public LongObjectHashMap<Account> findAllForUpdate(long... numbers) {
+        return byNumber(accountRepository.findByNumberInForUpdate(distinct(numbers)));
+    }
+
+    /**
+     * Mensagem de recusa com os números ausentes do mapa, ou {@code null} se
+     * todas as contas existem.
+     */
+    public static String missing(LongObjectHashMap<Account> accounts, long... numbers) {
+        Set<Long> missing = null;
+        for (var number : numbers) {
+            if (!accounts.containsKey(number)) {
+                if (missing == null)
+                    missing = new LinkedHashSet<>();
+                missing.add(number);
+            }
+        }
+
+        if (missing == null)
+            return null;
+        if (missing.size() == 1)
+            return missing(missing.iterator().next());
+
+        return "Contas " + missing.stream().map(String::valueOf).collect(Collectors.joining(", ")) + " inexistentes";
+    }
+
+    public static String missing(long number) {
+        return "Conta " + number + " inexistente";
+    }
+
+    private static List<Long> distinct(long... numbers) {
+        return Arrays.stream(numbers).distinct().boxed().toList();
+    }
+
+    private static LongObjectHashMap<Account> byNumber(List<Account> found) {
+        var accounts = new LongObjectHashMap<Account>(found.size());
+        for (var account : found)
+            accounts.put(account.getNumber(), account);
+        return accounts;
+    }
+
+    private static LongObjectHashMap<Account> requireAll(LongObjectHashMap<Account> accounts, long... numbers)
+            throws NotFoundException {
+        var missing = missing(accounts, numbers);
+        if (missing != null)
+            throw new NotFoundException(missing);
+        return accounts;
+    }
+}
@@ -1,9 +1,11 @@
 package br.edu.utfpr.bankapi.validations;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
 import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.service.HotAccountService;
 
 /**
  * Validar se existe saldo em conta disponível
@@ -11,11 +13,30 @@ import br.edu.utfpr.bankapi.model.Transaction;
 @Component
 public class AvailableBalanceValidation {
 
+    @Autowired(required = false)
+    private HotAccountService hotAccountService;
+
     public void validate(Transaction transaction) {
         // Verifica se a conta de origem possui saldo
-        if (transaction.getSourceAccount().getBalanceWithLimit() < transaction.getAmount()) {
+        if (!hasBalance(transaction)) {
             throw new WithoutBalanceException();
         }
     }
 
+    /**
+     * Como {@link #validate(Transaction)}, sem lançar exceção.
+     */
+    public boolean hasBalance(Transaction transaction) {
+        var source = transaction.getSourceAccount();
+        var available = source.getBalanceWithLimit();
+
+        // Os créditos de uma conta quente que ainda estão nas parcelas também
+        // estão disponíveis. Se um fold alterou a conta depois da leitura, a
+        // operação falha por conflito e é refeita, em vez de ser recusada
+        if (source.getHotSlots() > 0 && hotAccountService != null)
+            available += hotAccountService.pending(source);
+
+        return available >= transaction.getAmount();
+    }
+
 }
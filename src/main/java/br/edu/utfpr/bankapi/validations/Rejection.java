@@ -0,0 +1,12 @@
+package br.edu.utfpr.bankapi.validations;
+
+/**
+ * Motivos esperados de recusa de uma operação, devolvidos como valor em vez
+ * de exceção.
+ */
+public enum Rejection {
+    /** Saldo insuficiente, equivalente a {@code WithoutBalanceException} */
+    WITHOUT_BALANCE,
+    /** Conta inexistente, equivalente a {@code NotFoundException} */
+    NOT_FOUND
+}
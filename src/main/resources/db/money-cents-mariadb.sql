@@ -0,0 +1,12 @@
+-- Converte os valores monetários de DOUBLE (reais) para BIGINT (centavos).
+--
+-- Executar com a aplicação parada. Com o journal de transações habilitado
+-- (bankapi.journal.enabled), encerrar a aplicação normalmente para que o
+-- journal seja todo projetado no banco e apagar o diretório do journal antes
+-- de subir a nova versão: os registros antigos guardam o valor em double.
+
+update tb_account set balance = round(balance * 100), special_limit = round(special_limit * 100);
+alter table tb_account modify balance bigint not null, modify special_limit bigint not null;
+
+update tb_transaction set amount = round(amount * 100);
+alter table tb_transaction modify amount bigint not null;
@@ -0,0 +1,18 @@
+-- Converte os valores monetários de double precision (reais) para bigint
+-- (centavos).
+--
+-- Executar com a aplicação parada. Com o journal de transações habilitado
+-- (bankapi.journal.enabled), encerrar a aplicação normalmente para que o
+-- journal seja todo projetado no banco e apagar o diretório do journal antes
+-- de subir a nova versão: os registros antigos guardam o valor em double.
+
+begin;
+
+alter table tb_account
+    alter column balance type bigint using round(balance * 100),
+    alter column special_limit type bigint using round(special_limit * 100);
+
+alter table tb_transaction
+    alter column amount type bigint using round(amount * 100);
+
+commit;
@@ -0,0 +1,92 @@
+package br.edu.utfpr.bankapi.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.AccountService;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+class AccountCacheTest {
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 22346, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    double hits() {
+        return meterRegistry.get("cache.gets").tag("cache", "accounts").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    @Test
+    void segundaLeituraDeveriaVirDoCache() {
+        // ARRANGE
+        accountService.getByNumber(22346);
+        var hits = hits();
+
+        // ACT
+        var account = accountService.getByNumber(22346);
+
+        // ASSERT
+        assertEquals(1000, account.get().getBalance());
+        assertEquals(hits + 1, hits());
+    }
+
+    @Test
+    void depositoDeveriaInvalidarOSaldoEmCache() throws Exception {
+        // ARRANGE
+        accountService.getByNumber(22346);
+
+        // ACT
+        transactionService.deposit(new DepositDTO(22346, 200));
+
+        // ASSERT
+        assertEquals(1200, accountService.getByNumber(22346).get().getBalance());
+    }
+
+    @Test
+    void alteracaoDoNumeroDeveriaInvalidarONumeroAntigo() throws Exception {
+        // ARRANGE
+        accountService.getByNumber(22346);
+
+        // ACT
+        accountService.update(22346, new AccountDTO("Lauro Lima", 22399L, 0, 0));
+
+        // ASSERT
+        assertEquals(true, accountService.getByNumber(22346).isEmpty());
+        assertEquals("Lauro Lima", accountService.getByNumber(22399).get().getName());
+    }
+}
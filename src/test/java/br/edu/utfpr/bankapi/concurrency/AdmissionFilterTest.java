@@ -0,0 +1,60 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+class AdmissionFilterTest {
+
+    @Test
+    void requisicaoAlemDoLimiteDeveriaReceber503() throws Exception {
+        // ARRANGE
+        var dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(1);
+        var filter = new AdmissionFilter(dataSource, 0, 10);
+        var blocked = new MockHttpServletResponse();
+
+        // ACT
+        // A segunda requisição chega enquanto a primeira ocupa a única vaga
+        var first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/transaction/deposit"), first,
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("POST", "/transaction/deposit"),
+                        blocked, (req, res) -> {
+                        }));
+
+        // ASSERT
+        assertEquals(200, first.getStatus());
+        assertEquals(503, blocked.getStatus());
+        assertEquals("1", blocked.getHeader("Retry-After"));
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void semTamanhoDePoolConfiguradoDeveriaUsarOPadraoDoHikari() throws Exception {
+        // ACT
+        var filter = new AdmissionFilter(new HikariDataSource(), 0, 10);
+
+        // ASSERT
+        assertEquals(10, filter.availablePermits());
+    }
+
+    @Test
+    void actuatorNaoDeveriaPassarPelaAdmissao() throws Exception {
+        // ARRANGE
+        var filter = new AdmissionFilter(new HikariDataSource(), 1, 10);
+        var blocked = new MockHttpServletResponse();
+
+        // ACT
+        filter.doFilter(new MockHttpServletRequest("GET", "/account"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                        blocked, (req, res) -> {
+                        }));
+
+        // ASSERT
+        assertEquals(200, blocked.getStatus());
+    }
+}
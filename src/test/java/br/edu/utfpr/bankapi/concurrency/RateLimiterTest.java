@@ -0,0 +1,98 @@
+package br.edu.utfpr.bankapi.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.utfpr.bankapi.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    @Test
+    void contaAlemDaRajadaDeveriaSerRecusada() {
+        // ARRANGE
+        // Uma operação a cada 100 s: nada é reposto durante o teste
+        var registry = new SimpleMeterRegistry();
+        var limiter = new RateLimiter(registry, 0.01, 3, 1024, 10);
+
+        // ACT
+        for (int i = 0; i < 3; i++)
+            limiter.acquire(12346).close();
+        var ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire(12346));
+
+        // ASSERT
+        assertTrue(ex.getRetryAfterSeconds() > 90 && ex.getRetryAfterSeconds() <= 100);
+        assertDoesNotThrow(() -> limiter.acquire(12347).close());
+        assertEquals(1, registry.get("bankapi.rate-limit.rejected").tag("limit", "account").counter().count());
+        assertEquals(10, limiter.availablePermits());
+    }
+
+    @Test
+    void bucketDeveriaSerRepostoNaTaxaConfigurada() throws Exception {
+        // ARRANGE
+        // Uma operação a cada 20 ms, sem rajada
+        var limiter = new RateLimiter(new SimpleMeterRegistry(), 50, 1, 1024, 10);
+        limiter.acquire(12346).close();
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(12346));
+
+        // ACT
+        Thread.sleep(40);
+
+        // ASSERT
+        assertDoesNotThrow(() -> limiter.acquire(12346).close());
+    }
+
+    @Test
+    void operacaoAlemDoLimiteDeSimultaneasDeveriaSerRecusada() {
+        // ARRANGE
+        var registry = new SimpleMeterRegistry();
+        var limiter = new RateLimiter(registry, 1000, 1000, 1024, 2);
+
+        // ACT
+        var first = limiter.acquire(12346);
+        var second = limiter.acquire();
+        var ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire(12347));
+        first.close();
+
+        // ASSERT
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertDoesNotThrow(() -> limiter.acquire(12347).close());
+        second.close();
+        assertEquals(2, limiter.availablePermits());
+        assertEquals(1, registry.get("bankapi.rate-limit.rejected").tag("limit", "concurrency").counter().count());
+    }
+
+    @Test
+    void recusaPorSimultaneasNaoDeveriaConsumirATaxaDaConta() {
+        // ARRANGE
+        // Uma única operação da conta, sem reposição durante o teste
+        var registry = new SimpleMeterRegistry();
+        var limiter = new RateLimiter(registry, 0.01, 1, 1024, 1);
+        var busy = limiter.acquire();
+
+        // ACT
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(12346));
+        busy.close();
+
+        // ASSERT
+        assertDoesNotThrow(() -> limiter.acquire(12346).close());
+        assertEquals(0, registry.get("bankapi.rate-limit.rejected").tag("limit", "account").counter().count());
+    }
+
+    @Test
+    void recusaPorTaxaDeveriaDevolverAVaga() {
+        // ARRANGE
+        var limiter = new RateLimiter(new SimpleMeterRegistry(), 0.01, 1, 1024, 2);
+        limiter.acquire(12346).close();
+
+        // ACT
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(12346));
+
+        // ASSERT
+        assertEquals(2, limiter.availablePermits());
+    }
+}
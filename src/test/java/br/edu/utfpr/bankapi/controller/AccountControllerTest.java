@@ -1,5 +1,9 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +18,9 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.money.Money;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.service.AccountService;
 import jakarta.transaction.Transactional;
@@ -45,17 +52,18 @@ class AccountControllerTest {
 
     @BeforeEach
     void setup() {
+        // Saldos em centavos: R$ 1000,00
         account = new Account("Lauro Lima",
-                12346, 1000, 0);
+                12346, 100000, 0);
         entityManager.persist(account); // salvando uma conta
 
         account2 = new Account(
-            "João da Silva", 12347, 1000, 0
+            "João da Silva", 12347, 100000, 0
         );
         entityManager.persist(account2); // salvando uma conta
 
         account3 = new Account(
-            "Maria da Silva", 12348, 1000, 0
+            "Maria da Silva", 12348, 100000, 0
         );
         entityManager.persist(account3); // salvando uma conta
     }
@@ -91,10 +99,10 @@ class AccountControllerTest {
                 Matchers.equalTo(Long.valueOf(account.getNumber()).intValue())))
             .andExpect(MockMvcResultMatchers.jsonPath(
                 "$.balance", 
-                Matchers.is(account.getBalance())))
+                Matchers.is(Money.toDecimal(account.getBalance()).doubleValue())))
             .andExpect(MockMvcResultMatchers.jsonPath(
                 "$.specialLimit", 
-                Matchers.is(account.getSpecialLimit())))
+                Matchers.is(Money.toDecimal(account.getSpecialLimit()).doubleValue())))
             .andReturn().getResponse();
     }
 
@@ -146,6 +154,126 @@ class AccountControllerTest {
                 .andReturn().getResponse();
     }
 
+    @Test
+    void getAllDeveriaPaginarPeloCursor() throws Exception {
+        // ACT
+        var primeira = mvc.perform(
+            MockMvcRequestBuilders.get("/account").param("size", "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].number", Matchers.is(12347)))
+                .andReturn().getResponse();
+
+        var cursor = primeira.getHeader(AccountController.NEXT_CURSOR_HEADER);
+        Assertions.assertNotNull(cursor);
+
+        var segunda = mvc.perform(
+            MockMvcRequestBuilders.get("/account").param("size", "2").param("cursor", cursor))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].number", Matchers.is(12348)))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertNull(segunda.getHeader(AccountController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllDeveriaRetornarStatus400ParaCursorInvalido() throws Exception {
+        // ACT
+        var res = mvc.perform(
+            MockMvcRequestBuilders.get("/account").param("cursor", "nao-e-um-cursor"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    @Test
+    void streamAllDeveriaEscreverUmaContaPorLinha() throws Exception {
+        // ARRANGE
+        entityManager.flush();
+        var out = new ByteArrayOutputStream();
+
+        // ACT
+        accountService.streamAll(out);
+
+        // ASSERT
+        var lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(3, lines.length);
+        Assertions.assertTrue(lines[0].contains("\"number\":12346"));
+        Assertions.assertTrue(lines[2].contains("\"name\":\"Maria da Silva\""));
+    }
+
+    // TRANSACTIONS
+    @Test
+    void getTransactionsDeveriaRetornarStatus404ParaContaNaoEncontrada() throws Exception {
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.get("/account/9999/transactions"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(404, res.getStatus());
+    }
+
+    @Test
+    void getTransactionsDeveriaPaginarDaMaisRecenteParaAMaisAntiga() throws Exception {
+        // ARRANGE
+        var base = LocalDateTime.of(2024, 3, 1, 10, 0);
+        persistTransaction(null, account, 10000, TransactionType.DEPOSIT, base);
+        persistTransaction(account, account2, 5000, TransactionType.TRANSFER, base.plusHours(1));
+        persistTransaction(account3, account, 3000, TransactionType.TRANSFER, base.plusHours(2));
+        persistTransaction(account2, account3, 1000, TransactionType.TRANSFER, base.plusHours(3)); // outra conta
+        entityManager.flush();
+
+        // ACT
+        var primeira = mvc.perform(
+            MockMvcRequestBuilders.get("/account/" + account.getNumber() + "/transactions").param("size", "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].sourceAccountNumber",
+                    Matchers.is((int) account3.getNumber())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].receiverAccountNumber",
+                    Matchers.is((int) account2.getNumber())))
+                .andReturn().getResponse();
+
+        var cursor = primeira.getHeader(AccountController.NEXT_CURSOR_HEADER);
+        Assertions.assertNotNull(cursor);
+
+        var segunda = mvc.perform(
+            MockMvcRequestBuilders.get("/account/" + account.getNumber() + "/transactions")
+                .param("size", "2").param("cursor", cursor))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].type", Matchers.is("DEPOSIT")))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertNull(segunda.getHeader(AccountController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getTransactionsDeveriaFiltrarPeloIntervalo() throws Exception {
+        // ARRANGE
+        var base = LocalDateTime.of(2024, 3, 1, 10, 0);
+        persistTransaction(null, account, 10000, TransactionType.DEPOSIT, base);
+        persistTransaction(account, null, 2000, TransactionType.WITHDRAW, base.plusDays(1));
+        persistTransaction(account, null, 3000, TransactionType.WITHDRAW, base.plusDays(2));
+        entityManager.flush();
+
+        // ACT
+        mvc.perform(
+            MockMvcRequestBuilders.get("/account/" + account.getNumber() + "/transactions")
+                .param("from", base.plusHours(1).toString())
+                .param("to", base.plusDays(2).toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].amount", Matchers.is(20.0)));
+    }
+
+    private void persistTransaction(Account source, Account receiver, long amount, TransactionType type,
+            LocalDateTime dateTime) {
+        var transaction = new Transaction(source, receiver, amount, type);
+        transaction.setDateTime(dateTime);
+        entityManager.persist(transaction);
+    }
+
     // SAVE
     @Test
     void saveDeveriaRetornarStatus201() throws Exception {
@@ -269,4 +397,52 @@ class AccountControllerTest {
         // ASSERT
         Assertions.assertEquals(400, res.getStatus());
     }
+
+    @Test
+    void importDeveriaCriarAsContasDoCsvEListarAsLinhasRejeitadas() throws Exception {
+        // ARRANGE
+        var csv = """
+                name,number,specialLimit
+                Ana Souza,22346,150.50
+                "Silva, Pedro",22347,
+                ,22348,0
+                Conta Existente,12346,0
+                """;
+        entityManager.flush(); // a importação consulta as contas pelo JDBC
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/account/import")
+                        .content(csv).contentType("text/csv"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rows").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.imported").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rejected").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].line").value(4))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[1].line").value(5))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(200, res.getStatus());
+        var account = accountRepository.getByNumber(22346).get();
+        Assertions.assertEquals("Ana Souza", account.getName());
+        Assertions.assertEquals(15050, account.getSpecialLimit());
+        Assertions.assertEquals(0, account.getBalance());
+        Assertions.assertEquals("Silva, Pedro", accountRepository.getByNumber(22347).get().getName());
+    }
+
+    @Test
+    void importDeveriaRetornarStatus400ParaCabecalhoInvalido() throws Exception {
+        // ARRANGE
+        var csv = "nome,numero\nAna Souza,22346\n";
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/account/import")
+                        .content(csv).contentType("text/csv"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
 }
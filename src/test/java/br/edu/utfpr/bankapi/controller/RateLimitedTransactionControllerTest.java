@@ -0,0 +1,63 @@
+package br.edu.utfpr.bankapi.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import br.edu.utfpr.bankapi.model.Account;
+import jakarta.transaction.Transactional;
+
+// Uma operação por conta a cada 100 s, sem rajada
+@SpringBootTest(properties = { "bankapi.rate-limit.enabled=true", "bankapi.rate-limit.account-rate=0.01",
+        "bankapi.rate-limit.account-burst=1" })
+@AutoConfigureMockMvc
+@AutoConfigureTestEntityManager
+@Transactional
+class RateLimitedTransactionControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        // Saldo em centavos: R$ 1000,00
+        entityManager.persist(new Account("Lauro Lima", 32346, 100000, 0));
+    }
+
+    @Test
+    void withdrawAlemDaTaxaDaContaDeveriaRetornarStatus429() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "sourceAccountNumber": 32346,
+                    "amount": 10
+                }
+                """;
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/withdraw")
+                .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        // ACT + ASSERT
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/withdraw")
+                .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().exists("Retry-After"));
+
+        // A taxa é por conta: o depósito em outra conta não é limitado
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/deposit")
+                .content("{\"receiverAccountNumber\": 99999, \"amount\": 10}")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+}
@@ -0,0 +1,110 @@
+package br.edu.utfpr.bankapi.controller;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.model.Account;
+import jakarta.transaction.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestEntityManager
+@Transactional
+class ScheduledTransferControllerTest {
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        entityManager.persist(new Account("Lauro Lima", 42356, 100000, 0));
+        entityManager.persist(new Account("João da Silva", 42357, 100000, 0));
+    }
+
+    @Test
+    void createDeveriaRetornarStatus201EOAgendamento() throws Exception {
+        // ARRANGE
+        // Fora da janela do scheduler: não é executado durante o teste
+        var firstRunAt = LocalDateTime.now().plusDays(1).withNano(0);
+        var json = """
+                {
+                    "sourceAccountNumber": 42356,
+                    "receiverAccountNumber": 42357,
+                    "amount": 150,
+                    "firstRunAt": "%s",
+                    "recurrence": "MONTHLY"
+                }
+                """.formatted(firstRunAt);
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/scheduled-transfer")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(201, res.getStatus());
+        var body = objectMapper.readTree(res.getContentAsString());
+        Assertions.assertEquals("ACTIVE", body.get("status").asText());
+        Assertions.assertEquals(150, body.get("amount").asDouble());
+        Assertions.assertEquals(firstRunAt, LocalDateTime.parse(body.get("nextRunAt").asText()));
+
+        // Cancelamento
+        var canceled = mvc.perform(MockMvcRequestBuilders.delete("/scheduled-transfer/" + body.get("id").asLong()))
+                .andReturn().getResponse();
+        Assertions.assertEquals(200, canceled.getStatus());
+        Assertions.assertEquals("CANCELED",
+                objectMapper.readTree(canceled.getContentAsString()).get("status").asText());
+    }
+
+    @Test
+    void createDeveriaRetornarStatus404ParaContaInexistente() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "sourceAccountNumber": 42356,
+                    "receiverAccountNumber": 99999999,
+                    "amount": 150,
+                    "firstRunAt": "%s"
+                }
+                """.formatted(LocalDateTime.now().plusDays(1).withNano(0));
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/scheduled-transfer")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(404, res.getStatus());
+    }
+
+    @Test
+    void getDeveriaRetornarStatus404ParaAgendamentoInexistente() throws Exception {
+        // ACT
+        var res = mvc.perform(MockMvcRequestBuilders.get("/scheduled-transfer/1"))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(404, res.getStatus());
+    }
+}
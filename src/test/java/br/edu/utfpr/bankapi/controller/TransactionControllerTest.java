@@ -1,5 +1,8 @@
 package br.edu.utfpr.bankapi.controller;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +17,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.IdempotentRequest;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
 import jakarta.transaction.Transactional;
 
 @SpringBootTest
@@ -30,17 +39,21 @@ class TransactionControllerTest {
     @Autowired
     TestEntityManager entityManager;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     Account account; // Conta para os testes
     Account account2; // Conta para os testes
 
     @BeforeEach
     void setup() {
+        // Saldos em centavos: R$ 1000,00
         account = new Account("Lauro Lima",
-                12346, 1000, 0);
+                12346, 100000, 0);
         entityManager.persist(account); // salvando uma conta
 
         account2 = new Account(
-              "João da Silva", 12347, 1000, 0
+              "João da Silva", 12347, 100000, 0
         );
       entityManager.persist(account2); // salvando uma conta
     }
@@ -98,13 +111,34 @@ class TransactionControllerTest {
                 MockMvcRequestBuilders.post("/transaction/deposit")
                         .content(json).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.receiverAccount.number",
+                        "$.receiverAccountNumber",
                         Matchers.equalTo(12346)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
                         "$.amount", 
                         Matchers.equalTo(200.0)));
     }
 
+    @Test
+    void depositDeveriaResponderSemOsDadosDasContas() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "receiverAccountNumber": 12346,
+                    "amount": 200
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/deposit")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.type", Matchers.is("DEPOSIT")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sourceAccountNumber", Matchers.nullValue()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.receiverAccount").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.dateTime").isString());
+    }
+
     // WITHDRAW
     @Test
     void withdrawDeveriaRetornarStatus400ParaRequisicaoInvalida() throws Exception {
@@ -121,6 +155,26 @@ class TransactionControllerTest {
         Assertions.assertEquals(400, res.getStatus());
     }
 
+    @Test
+    void withdrawDeveriaRetornarStatus400ParaValorComMaisDeDuasCasas() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "sourceAccountNumber": 12346,
+                    "amount": 10.005
+                }
+                    """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/withdraw")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
     @Test
     void withdrawDeveriaRetornarStatus201ParaRequisicaoOK() throws Exception {
         // ARRANGE
@@ -157,7 +211,7 @@ class TransactionControllerTest {
                 MockMvcRequestBuilders.post("/transaction/withdraw")
                         .content(json).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.sourceAccount.number",
+                        "$.sourceAccountNumber",
                         Matchers.equalTo(12346)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
                         "$.amount", Matchers.equalTo(200.0)));
@@ -238,10 +292,10 @@ class TransactionControllerTest {
                 MockMvcRequestBuilders.post("/transaction/transfer")
                         .content(json).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.sourceAccount.number",
+                        "$.sourceAccountNumber",
                         Matchers.equalTo(12346)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
-                        "$.receiverAccount.number",
+                        "$.receiverAccountNumber",
                         Matchers.equalTo(12347)))
                 .andExpect(MockMvcResultMatchers.jsonPath(
                         "$.amount", Matchers.equalTo(200.0)));
@@ -268,4 +322,201 @@ class TransactionControllerTest {
         Assertions.assertEquals(400, res.getStatus());
         Assertions.assertEquals("No balance in account", res.getContentAsString());
     }
+
+    // BATCH
+    @Test
+    void batchDeveriaRetornarResultadoPorItemNoModoBestEffort() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "mode": "BEST_EFFORT",
+                    "items": [
+                        { "deposit": { "receiverAccountNumber": 12346, "amount": 200 } },
+                        { "transfer": { "sourceAccountNumber": 12346, "receiverAccountNumber": 12347, "amount": 5000 } },
+                        { "withdraw": { "sourceAccountNumber": 9999, "amount": 10 } },
+                        { "transfer": { "sourceAccountNumber": 12346, "receiverAccountNumber": 12347, "amount": 1200 } }
+                    ]
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/batch")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(4)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].success", Matchers.is(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error", Matchers.is("No balance in account")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].error", Matchers.is("Conta 9999 inexistente")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].success", Matchers.is(true)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].transaction.receiverAccountNumber",
+                        Matchers.equalTo(12347)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[3].transaction.amount", Matchers.equalTo(1200.0)));
+    }
+
+    @Test
+    void batchDeveriaRetornarStatus400NoModoAllOrNothingComItemRejeitado() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "mode": "ALL_OR_NOTHING",
+                    "items": [
+                        { "deposit": { "receiverAccountNumber": 12346, "amount": 200 } },
+                        { "withdraw": { "sourceAccountNumber": 12347, "amount": 1100 } }
+                    ]
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/batch")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].index", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error", Matchers.is("No balance in account")));
+    }
+
+    @Test
+    void batchDeveriaRetornarStatus400ParaItemComMaisDeUmaOperacao() throws Exception {
+        // ARRANGE
+        var json = """
+                {
+                    "mode": "BEST_EFFORT",
+                    "items": [
+                        {
+                            "deposit": { "receiverAccountNumber": 12346, "amount": 200 },
+                            "withdraw": { "sourceAccountNumber": 12346, "amount": 200 }
+                        }
+                    ]
+                }
+                    """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/batch")
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(400, res.getStatus());
+    }
+
+    // IDEMPOTENCY-KEY
+    @Test
+    void transferComMesmaIdempotencyKeyDeveriaExecutarUmaVez() throws Exception {
+        // ARRANGE
+        var key = UUID.randomUUID().toString();
+        var json = """
+                {
+                    "sourceAccountNumber": 12346,
+                    "receiverAccountNumber": 12347,
+                    "amount": 200
+                }
+                    """;
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/transfer").header("Idempotency-Key", key)
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        var repetida = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/transfer").header("Idempotency-Key", key)
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(201, res.getStatus());
+        Assertions.assertEquals(201, repetida.getStatus());
+        Assertions.assertEquals(res.getContentAsString(), repetida.getContentAsString());
+        // Debitado uma única vez: R$ 1000,00 - R$ 200,00
+        Assertions.assertEquals(80000, account.getBalance());
+    }
+
+    @Test
+    void transferComIdempotencyKeyReutilizadaDeveriaRetornarStatus422() throws Exception {
+        // ARRANGE
+        var key = UUID.randomUUID().toString();
+        var json = """
+                {
+                    "sourceAccountNumber": 12346,
+                    "receiverAccountNumber": 12347,
+                    "amount": 200
+                }
+                    """;
+        mvc.perform(MockMvcRequestBuilders.post("/transaction/transfer").header("Idempotency-Key", key)
+                .content(json).contentType(MediaType.APPLICATION_JSON));
+
+        // ACT
+        var res = mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/transfer").header("Idempotency-Key", key)
+                        .content(json.replace("200", "300")).contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+
+        // ASSERT
+        Assertions.assertEquals(422, res.getStatus());
+        Assertions.assertEquals(80000, account.getBalance());
+    }
+
+    @Test
+    void depositComIdempotencyKeyGravadaDeveriaRetornarRespostaOriginal() throws Exception {
+        // ARRANGE
+        // Chave antiga, que já não está na memória
+        var key = UUID.randomUUID().toString();
+        var original = new Transaction(null, account, 500, TransactionType.DEPOSIT);
+        original.setId(42);
+        entityManager.persist(new IdempotentRequest(key, TransactionType.DEPOSIT,
+                new DepositDTO(12346, 500).toString(), objectMapper.writeValueAsString(original),
+                LocalDateTime.now()));
+
+        var json = """
+                {
+                    "receiverAccountNumber": 12346,
+                    "amount": 5.00
+                }
+                    """;
+
+        // ACT + ASSERT
+        mvc.perform(
+                MockMvcRequestBuilders.post("/transaction/deposit").header("Idempotency-Key", key)
+                        .content(json).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id", Matchers.equalTo(42)));
+
+        // O depósito não foi executado de novo
+        Assertions.assertEquals(100000, account.getBalance());
+    }
+
+    // EXPORT
+    @Test
+    void exportDeveriaComprimirQuandoOClienteAceitaGzip() throws Exception {
+        // ACT
+        var result = mvc.perform(
+                MockMvcRequestBuilders.get("/transaction/export")
+                        .param("from", "2024-03-01T00:00:00")
+                        .param("to", "2024-04-01T00:00:00")
+                        .accept("text/csv")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        // ASSERT
+        mvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Content-Encoding", "gzip"))
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv"));
+    }
+
+    @Test
+    void exportDeveriaRetornarStatus400ParaIntervaloInvalido() throws Exception {
+        // ACT
+        var result = mvc.perform(
+                MockMvcRequestBuilders.get("/transaction/export")
+                        .param("from", "2024-04-01T00:00:00")
+                        .param("to", "2024-03-01T00:00:00")
+                        .accept("application/x-ndjson"))
+                .andReturn();
+
+        // ASSERT
+        Assertions.assertEquals(400, result.getResponse().getStatus());
+    }
 }
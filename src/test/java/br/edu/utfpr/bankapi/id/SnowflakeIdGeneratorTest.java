@@ -0,0 +1,77 @@
+package br.edu.utfpr.bankapi.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void idsDeveriamSerCrescentes() {
+        // ARRANGE
+        var generator = new SnowflakeIdGenerator(1);
+        var anterior = generator.nextId();
+
+        // ACT + ASSERT
+        // Mais ids do que cabem na sequência de um milissegundo
+        for (int i = 0; i < 100_000; i++) {
+            var id = generator.nextId();
+            assertTrue(id > anterior);
+            anterior = id;
+        }
+    }
+
+    @Test
+    void idsDeveriamSerUnicosEntreThreads() throws Exception {
+        // ARRANGE
+        var generator = new SnowflakeIdGenerator(2);
+        var executor = Executors.newFixedThreadPool(8);
+        var tarefas = new ArrayList<Callable<long[]>>();
+        for (int t = 0; t < 8; t++) {
+            tarefas.add(() -> {
+                var ids = new long[20_000];
+                for (int i = 0; i < ids.length; i++)
+                    ids[i] = generator.nextId();
+                return ids;
+            });
+        }
+
+        // ACT
+        var unicos = new HashSet<Long>();
+        for (var resultado : executor.invokeAll(tarefas))
+            for (var id : resultado.get())
+                unicos.add(id);
+        executor.shutdown();
+
+        // ASSERT
+        assertEquals(8 * 20_000, unicos.size());
+    }
+
+    @Test
+    void idDeveriaSerOrdenadoPeloTempo() {
+        // ARRANGE
+        var generator = new SnowflakeIdGenerator(1023);
+        var antes = SnowflakeIdGenerator.firstIdAt(Instant.now().minusMillis(1));
+
+        // ACT
+        var id = generator.nextId();
+
+        // ASSERT
+        assertTrue(id >= antes);
+        assertTrue(id < SnowflakeIdGenerator.firstIdAt(Instant.now().plusSeconds(60)));
+    }
+
+    @Test
+    void deveriaRecusarNoForaDoIntervalo() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+}
@@ -0,0 +1,77 @@
+package br.edu.utfpr.bankapi.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.JournalCheckpointRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+
+@SpringBootTest(properties = {
+        "bankapi.ledger.enabled=true",
+        "bankapi.journal.enabled=true",
+        "bankapi.journal.directory=target/journal-test/${random.uuid}",
+        "bankapi.journal.records-per-segment=1024",
+        "bankapi.journal.projector-interval-ms=60000" })
+@DirtiesContext
+class JournalProjectorTest {
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    JournalProjector projector;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    JournalCheckpointRepository checkpointRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 12346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 12347, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaProjetarOJournalNoBanco() throws Exception {
+        // ARRANGE
+        var checkpoint = checkpointRepository.lastSequence();
+
+        // ACT
+        transactionService.deposit(new DepositDTO(12346, 200));
+        transactionService.transfer(new TransferDTO(12346, 12347, 300));
+
+        // Nada foi gravado no banco até a projeção
+        assertEquals(0, transactionRepository.count());
+
+        var projected = projector.drain();
+
+        // ASSERT
+        assertEquals(2, projected);
+        assertEquals(2, transactionRepository.count());
+        assertEquals(900, accountRepository.getByNumber(12346).get().getBalance());
+        assertEquals(1300, accountRepository.getByNumber(12347).get().getBalance());
+        assertEquals(checkpoint + 2, checkpointRepository.lastSequence());
+    }
+}
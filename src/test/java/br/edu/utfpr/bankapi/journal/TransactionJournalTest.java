@@ -0,0 +1,139 @@
+package br.edu.utfpr.bankapi.journal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.BDDMockito;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.JournalCheckpointRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionJournalTest {
+
+    @Mock
+    JournalCheckpointRepository checkpointRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deveriaLerOsRegistrosDuraveisNaOrdem() throws Exception {
+        // ARRANGE
+        var journal = new TransactionJournal(checkpointRepository, directory, 4, 0);
+
+        // ACT
+        long last = 0;
+        for (int i = 1; i <= 10; i++)
+            last = journal.append(TransactionType.DEPOSIT, 0, 7, i, 1000L * i);
+        journal.awaitDurable(last);
+
+        var records = new ArrayList<JournalRecord>();
+        journal.read(1, 100, records::add);
+        journal.close();
+
+        // ASSERT
+        assertEquals(10, records.size());
+        assertEquals(1, records.get(0).sequence());
+        assertEquals(10, records.get(9).amount());
+        assertEquals(7, records.get(9).receiverAccountId());
+        // 10 registros em segmentos de 4
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void deveriaRecuperarOsRegistrosAoReabrir() throws Exception {
+        // ARRANGE
+        var journal = new TransactionJournal(checkpointRepository, directory, 4, 0);
+        journal.awaitDurable(journal.append(TransactionType.TRANSFER, 1, 2, 50, 0));
+        journal.awaitDurable(journal.append(TransactionType.WITHDRAW, 1, 0, 20, 0));
+        journal.close();
+
+        // ACT
+        var reopened = new TransactionJournal(checkpointRepository, directory, 4, 0);
+        var next = reopened.append(TransactionType.DEPOSIT, 0, 2, 5, 0);
+        reopened.awaitDurable(next);
+
+        var records = new ArrayList<JournalRecord>();
+        reopened.read(2, 100, records::add);
+        reopened.close();
+
+        // ASSERT
+        assertEquals(3, next);
+        assertEquals(2, records.size());
+        assertEquals(TransactionType.WITHDRAW, records.get(0).type());
+        assertEquals(TransactionType.DEPOSIT, records.get(1).type());
+    }
+
+    @Test
+    void journalVazioDeveriaContinuarDoCheckpoint() throws Exception {
+        // ARRANGE
+        BDDMockito.given(checkpointRepository.lastSequence()).willReturn(41L);
+        var journal = new TransactionJournal(checkpointRepository, directory, 4, 0);
+
+        // ACT
+        var sequence = journal.append(TransactionType.DEPOSIT, 0, 2, 5, 0);
+        journal.close();
+
+        // ASSERT
+        assertEquals(42, sequence);
+    }
+
+    @Test
+    void deveriaRemoverSegmentosJaProjetados() throws Exception {
+        // ARRANGE
+        var journal = new TransactionJournal(checkpointRepository, directory, 4, 0);
+        long last = 0;
+        for (int i = 1; i <= 10; i++)
+            last = journal.append(TransactionType.DEPOSIT, 0, 7, i, 0);
+        journal.awaitDurable(last);
+
+        // ACT
+        journal.release(8);
+        journal.close();
+
+        // ASSERT
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void falhaAoGravarNoDiscoDeveriaSerRepassadaAQuemAguarda() throws Exception {
+        // ARRANGE
+        var journal = new TransactionJournal(checkpointRepository, directory, 4, 0) {
+            @Override
+            void force(MappedByteBuffer buffer) {
+                throw new UncheckedIOException(new IOException("Disco cheio"));
+            }
+        };
+        var sequence = journal.append(TransactionType.DEPOSIT, 0, 2, 5, 0);
+
+        // ACT
+        var exception = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> journal.awaitDurable(sequence)));
+
+        // ASSERT
+        assertInstanceOf(UncheckedIOException.class, exception.getCause());
+        assertThrows(IllegalStateException.class, () -> journal.append(TransactionType.DEPOSIT, 0, 2, 5, 0));
+        assertEquals(0, journal.durableSequence());
+        journal.close();
+    }
+}
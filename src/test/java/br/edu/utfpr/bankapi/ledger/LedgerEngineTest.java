@@ -0,0 +1,155 @@
+package br.edu.utfpr.bankapi.ledger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+
+import br.edu.utfpr.bankapi.dto.AccountDTO;
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@SpringBootTest(properties = { "bankapi.ledger.enabled=true", "bankapi.ledger.shards=2" })
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD) // As contas ficam em memória no ledger
+class LedgerEngineTest {
+
+    @Autowired
+    LedgerEngine ledgerEngine;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    Account account; // Conta na partição 0
+    Account account2; // Conta na partição 1
+
+    @BeforeEach
+    void setup() {
+        account = accountRepository.save(new Account("Lauro Lima", 12346, 1000, 0));
+        account2 = accountRepository.save(new Account("João da Silva", 12347, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void transferenciasConcorrentesDeveriamPreservarOTotal() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        for (int i = 0; i < 200; i++) {
+            var dto = i % 2 == 0
+                    ? new TransferDTO(12346, 12347, 1)
+                    : new TransferDTO(12347, 12346, 2);
+            executor.submit(() -> ledgerEngine.transfer(dto));
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        ledgerEngine.flush();
+
+        // ASSERT
+        assertEquals(1100, accountRepository.getByNumber(12346).get().getBalance());
+        assertEquals(900, accountRepository.getByNumber(12347).get().getBalance());
+        assertEquals(200, transactionRepository.count());
+    }
+
+    @Test
+    void depositoESaqueDeveriamSerPersistidos() throws Exception {
+        // ACT
+        ledgerEngine.deposit(new DepositDTO(12346, 200));
+        ledgerEngine.withdraw(new WithdrawDTO(12346, 50));
+        ledgerEngine.flush();
+
+        // ASSERT
+        assertEquals(1150, accountRepository.getByNumber(12346).get().getBalance());
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void saldoInsuficienteNaoDeveriaAlterarAsContas() {
+        // ACT
+        var exception = assertThrows(WithoutBalanceException.class, () -> {
+            ledgerEngine.transfer(new TransferDTO(12346, 12347, 1100));
+        });
+        ledgerEngine.flush();
+
+        // ASSERT
+        assertEquals("No balance in account", exception.getMessage());
+        assertEquals(1000, ledgerEngine.balanceOf(12346).getAsLong());
+        assertEquals(0, transactionRepository.count());
+    }
+
+    @Test
+    void contaInexistenteDeveriaLancarNotFound() {
+        // ACT
+        var exception = assertThrows(NotFoundException.class, () -> {
+            ledgerEngine.transfer(new TransferDTO(12346, 9999, 100));
+        });
+
+        // ASSERT
+        assertEquals("Conta 9999 inexistente", exception.getMessage());
+    }
+
+    @Test
+    void contaDeDestinoRenumeradaDuranteATransferenciaNaoDeveriaPerderODebito() throws Exception {
+        // ARRANGE
+        // Carrega as contas no ledger
+        ledgerEngine.deposit(new DepositDTO(12346, 0));
+        ledgerEngine.deposit(new DepositDTO(12347, 0));
+        ledgerEngine.flush();
+        transactionRepository.deleteAll();
+
+        // Segura a partição de origem até a conta de destino ser renumerada
+        var release = new CountDownLatch(1);
+        ledgerEngine.shardOf(12346).submit(() -> {
+            release.await();
+            return null;
+        });
+
+        var executor = Executors.newSingleThreadExecutor();
+        var transfer = executor.submit(() -> ledgerEngine.transfer(new TransferDTO(12346, 12347, 300)));
+
+        // ACT
+        // A verificação da conta de destino já passou quando o débito está na fila
+        while (ledgerEngine.shardOf(12346).pending() == 0)
+            Thread.sleep(1);
+        ledgerEngine.update(12347, new AccountDTO("João da Silva", 12349L, 0, 0));
+        release.countDown();
+
+        var exception = assertThrows(ExecutionException.class, transfer::get);
+        executor.shutdown();
+        ledgerEngine.flush();
+
+        // ASSERT
+        assertInstanceOf(NotFoundException.class, exception.getCause());
+        assertEquals(1000, ledgerEngine.balanceOf(12346).getAsLong());
+        assertEquals(1000, ledgerEngine.balanceOf(12349).getAsLong());
+        assertEquals(1000, accountRepository.getByNumber(12346).get().getBalance());
+        assertEquals(1000, accountRepository.getByNumber(12349).get().getBalance());
+        assertEquals(0, transactionRepository.count());
+    }
+}
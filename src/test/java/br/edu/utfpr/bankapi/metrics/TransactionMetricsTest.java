@@ -0,0 +1,93 @@
+package br.edu.utfpr.bankapi.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.exception.WithoutBalanceException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+class TransactionMetricsTest {
+
+    @Autowired
+    TransactionService service;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 12346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 12347, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    private long count(String operation, String outcome) {
+        var timer = registry.find("bankapi.transaction")
+                .tag("operation", operation).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Timer phase(String operation, String phase, String outcome) {
+        return registry.find("bankapi.transaction.phase")
+                .tag("operation", operation).tag("phase", phase).tag("outcome", outcome).timer();
+    }
+
+    @Test
+    void deveriaMedirTransferenciaComTodasAsFases() throws Exception {
+        // ARRANGE
+        var antes = count("transfer", "success");
+
+        // ACT
+        service.transfer(new TransferDTO(12346, 12347, 100));
+
+        // ASSERT
+        assertEquals(antes + 1, count("transfer", "success"));
+        for (var fase : new String[] { "lookup", "validation", "persistence", "commit" })
+            assertTrue(phase("transfer", fase, "success").count() > 0, fase);
+    }
+
+    @Test
+    void deveriaMedirFalhasPeloResultado() {
+        // ARRANGE
+        var semSaldo = count("withdraw", "without_balance");
+        var naoEncontrada = count("deposit", "not_found");
+
+        // ACT
+        assertThrows(WithoutBalanceException.class, () -> service.withdraw(new WithdrawDTO(12346, 5000)));
+        assertThrows(NotFoundException.class, () -> service.deposit(new DepositDTO(99999, 100)));
+
+        // ASSERT
+        assertEquals(semSaldo + 1, count("withdraw", "without_balance"));
+        assertEquals(naoEncontrada + 1, count("deposit", "not_found"));
+        // O commit não acontece quando a operação falha
+        assertEquals(null, phase("withdraw", "commit", "without_balance"));
+    }
+}
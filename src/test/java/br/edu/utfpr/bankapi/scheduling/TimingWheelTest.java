@@ -0,0 +1,93 @@
+package br.edu.utfpr.bankapi.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void itemDeveriaVencerAposSeuTick() {
+        // ARRANGE
+        var wheel = new TimingWheel<String>(10, 8, 1000);
+        var due = new ArrayList<String>();
+        wheel.add(1025, "a");
+
+        // ACT
+        wheel.advance(1029, due::add);
+        var early = List.copyOf(due);
+        wheel.advance(1030, due::add);
+
+        // ASSERT
+        assertTrue(early.isEmpty());
+        assertEquals(List.of("a"), due);
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void itensDeNiveisSuperioresDeveriamDescerEVencerNoTick() {
+        // ARRANGE
+        // Níveis de 80 ms, 640 ms e 5120 ms
+        var wheel = new TimingWheel<Long>(10, 8, 0);
+        var random = new Random(42);
+        var expirations = new ArrayList<Long>();
+        for (int i = 0; i < 1000; i++) {
+            var expiration = (long) random.nextInt(20_000);
+            expirations.add(expiration);
+            wheel.add(expiration, expiration);
+        }
+
+        // ACT
+        var firedAt = new ArrayList<long[]>();
+        for (long now = 0; now <= 20_010; now += 10) {
+            var time = now;
+            wheel.advance(now, expiration -> firedAt.add(new long[] { expiration, time }));
+        }
+
+        // ASSERT
+        assertEquals(expirations.size(), firedAt.size());
+        for (var fired : firedAt) {
+            // Nunca antes do instante, no máximo um tick depois
+            assertTrue(fired[1] > fired[0], "adiantado: " + fired[0]);
+            assertTrue(fired[1] <= fired[0] + 10, "atrasado: " + fired[0]);
+        }
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    void avancoDeVariosTicksDeveriaEntregarEmOrdem() {
+        // ARRANGE
+        var wheel = new TimingWheel<Long>(10, 4, 0);
+        for (long expiration : new long[] { 950, 15, 400, 45, 1 })
+            wheel.add(expiration, expiration);
+        var due = new ArrayList<Long>();
+
+        // ACT
+        wheel.advance(1000, due::add);
+
+        // ASSERT
+        assertEquals(List.of(1L, 15L, 45L, 400L, 950L), due);
+    }
+
+    @Test
+    void itemJaVencidoNaoDeveriaSerAgendado() {
+        // ARRANGE
+        var wheel = new TimingWheel<String>(10, 8, 0);
+        wheel.advance(100, item -> {
+        });
+
+        // ACT
+        var added = wheel.add(99, "a");
+
+        // ASSERT
+        assertFalse(added);
+        assertTrue(wheel.add(100, "b"));
+        assertEquals(1, wheel.size());
+    }
+}
@@ -0,0 +1,158 @@
+package br.edu.utfpr.bankapi.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.ScheduledTransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Recurrence;
+import br.edu.utfpr.bankapi.model.ScheduledTransferStatus;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.ScheduledTransferRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.service.ScheduledTransferService;
+
+@SpringBootTest(properties = { "bankapi.scheduled-transfers.enabled=true", "bankapi.scheduled-transfers.tick-ms=100",
+        "bankapi.scheduled-transfers.lookahead-ms=60000", "bankapi.scheduled-transfers.load-interval-ms=30000" })
+class TransferSchedulerTest {
+
+    @Autowired
+    ScheduledTransferService service;
+
+    @Autowired
+    ScheduledTransferExecutor executor;
+
+    @Autowired
+    TransferScheduler scheduler;
+
+    @Autowired
+    ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 42346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 42347, 0, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        scheduledTransferRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void ocorrenciaDeveriaSerExecutadaUmaUnicaVez() throws Exception {
+        // ARRANGE
+        // Além da janela carregada: só o executor a dispara
+        var first = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        var schedule = service.save(new ScheduledTransferDTO(42346, 42347, 100, first, Recurrence.DAILY, null));
+
+        // ACT
+        var fired = executor.fire(schedule.getId(), first);
+        var again = executor.fire(schedule.getId(), first);
+
+        // ASSERT
+        assertTrue(fired.isPresent());
+        assertTrue(again.isEmpty());
+        var res = scheduledTransferRepository.findById(schedule.getId()).get();
+        assertEquals(1, res.getRunCount());
+        assertEquals(first.plusDays(1), res.getNextRunAt());
+        assertEquals(ScheduledTransferStatus.ACTIVE, res.getStatus());
+        assertNotNull(res.getLastTransactionId());
+        assertEquals(900, accountRepository.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void mensalDeveriaManterODiaDaPrimeiraExecucao() throws Exception {
+        // ARRANGE
+        var first = LocalDateTime.now().plusYears(1).withMonth(1).withDayOfMonth(31)
+                .truncatedTo(ChronoUnit.SECONDS);
+        var schedule = service.save(new ScheduledTransferDTO(42346, 42347, 100, first, Recurrence.MONTHLY,
+                first.plusMonths(2)));
+
+        // ACT
+        var february = executor.fire(schedule.getId(), first).get().getNextRunAt();
+        var march = executor.fire(schedule.getId(), february).get().getNextRunAt();
+        var last = executor.fire(schedule.getId(), march).get();
+
+        // ASSERT
+        assertEquals(2, february.getMonthValue());
+        assertEquals(31, march.getDayOfMonth());
+        assertEquals(ScheduledTransferStatus.COMPLETED, last.getStatus());
+        assertEquals(3, last.getRunCount());
+        assertEquals(700, accountRepository.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void recusaDeveriaSerRegistradaEAvancarOAgendamento() throws Exception {
+        // ARRANGE
+        var first = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        var schedule = service.save(new ScheduledTransferDTO(42346, 42347, 5000, first, Recurrence.NONE, null));
+
+        // ACT
+        var res = executor.fire(schedule.getId(), first).get();
+
+        // ASSERT
+        assertEquals(ScheduledTransferStatus.COMPLETED, res.getStatus());
+        assertNull(res.getLastTransactionId());
+        assertNotNull(res.getLastRejection());
+        assertEquals(1000, accountRepository.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void agendamentosVencidosDeveriamSerDisparadosPeloScheduler() throws Exception {
+        // ARRANGE
+        var now = LocalDateTime.now();
+        var past = service.save(new ScheduledTransferDTO(42346, 42347, 100, now.minusHours(1), null, null));
+        var soon = service.save(new ScheduledTransferDTO(42346, 42347, 200, now.plusSeconds(1), null, null));
+
+        // ACT
+        var deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline
+                && (scheduledTransferRepository.findById(past.getId()).get().getStatus() == ScheduledTransferStatus.ACTIVE
+                        || scheduledTransferRepository.findById(soon.getId()).get()
+                                .getStatus() == ScheduledTransferStatus.ACTIVE))
+            Thread.sleep(100);
+
+        // ASSERT
+        assertEquals(ScheduledTransferStatus.COMPLETED,
+                scheduledTransferRepository.findById(past.getId()).get().getStatus());
+        assertEquals(ScheduledTransferStatus.COMPLETED,
+                scheduledTransferRepository.findById(soon.getId()).get().getStatus());
+        assertEquals(700, accountRepository.getByNumber(42346).get().getBalance());
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void agendamentoCanceladoNaoDeveriaSerExecutado() throws Exception {
+        // ARRANGE
+        var first = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        var schedule = service.save(new ScheduledTransferDTO(42346, 42347, 100, first, Recurrence.DAILY, null));
+
+        // ACT
+        service.cancel(schedule.getId());
+        var fired = executor.fire(schedule.getId(), first);
+
+        // ASSERT
+        assertTrue(fired.isEmpty());
+        assertEquals(1000, accountRepository.getByNumber(42346).get().getBalance());
+    }
+}
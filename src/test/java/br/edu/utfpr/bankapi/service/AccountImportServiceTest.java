@@ -0,0 +1,99 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+
+// Lotes de 2 contas, para exercitar vários lotes
+@SpringBootTest(properties = "bankapi.account-import.batch-size=2")
+class AccountImportServiceTest {
+
+    @Autowired
+    AccountImportService importService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 82346, 0, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaImportarNdjsonEmLotes() throws Exception {
+        // ARRANGE
+        var ndjson = """
+                {"name": "Ana Souza", "number": 82347, "balance": 0, "specialLimit": 100}
+                {"name": "Pedro Silva", "number": 82348, "balance": 0, "specialLimit": 0}
+
+                {"name": "Maria Lima", "number": 82349, "balance": 500, "specialLimit": 10.25}
+                {"name": "Repetida", "number": 82347, "balance": 0, "specialLimit": 0}
+                {"name": "Existente", "number": 82346, "balance": 0, "specialLimit": 0}
+                {"name": "Limite negativo", "number": 82350, "balance": 0, "specialLimit": -1}
+                {"name": "Quebrada", "number":
+                {"name": "João da Silva", "number": 82351, "balance": 0, "specialLimit": 0}
+                """;
+
+        // ACT
+        var report = importService.importAccounts(input(ndjson), AccountImportService.Format.NDJSON);
+
+        // ASSERT
+        assertEquals(8, report.rows());
+        assertEquals(4, report.imported());
+        assertEquals(4, report.rejected());
+        assertEquals(5, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().contains("repetido"));
+        assertEquals(6, report.errors().get(1).line());
+        assertEquals(7, report.errors().get(2).line());
+        assertTrue(report.errors().get(2).message().startsWith("specialLimit"));
+        assertEquals(8, report.errors().get(3).line());
+
+        // O saldo informado é ignorado, como no cadastro
+        var account = accountRepository.getByNumber(82349).get();
+        assertEquals(0, account.getBalance());
+        assertEquals(1025, account.getSpecialLimit());
+        assertEquals(5, accountRepository.count());
+    }
+
+    @Test
+    void deveriaRejeitarLinhasDoCsvComColunasOuNumerosInvalidos() throws Exception {
+        // ARRANGE
+        var csv = """
+                number,name,balance
+                82347,Ana Souza,0
+                abc,Pedro Silva,0
+                82348,Maria Lima
+                """;
+
+        // ACT
+        var report = importService.importAccounts(input(csv), AccountImportService.Format.CSV);
+
+        // ASSERT
+        assertEquals(3, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(3, report.errors().get(0).line());
+        assertEquals(4, report.errors().get(1).line());
+        assertTrue(accountRepository.getByNumber(82347).isPresent());
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
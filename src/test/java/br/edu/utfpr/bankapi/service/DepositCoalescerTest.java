@@ -0,0 +1,109 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.Rejection;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Janela longa: os depósitos enviados juntos caem no mesmo lote
+@SpringBootTest(properties = { "bankapi.deposit-batch.enabled=true", "bankapi.deposit-batch.max-items=50",
+        "bankapi.deposit-batch.window-micros=200000" })
+class DepositCoalescerTest {
+
+    @Autowired
+    DepositCoalescer coalescer;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 52346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 52347, 0, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaGravarOsDepositosDoLoteComUmaAtualizacaoPorConta() {
+        // ARRANGE
+        var results = new ArrayList<CompletableFuture<TransactionResult>>();
+
+        // ACT
+        for (int i = 0; i < 50; i++)
+            results.add(coalescer.submit(new DepositDTO(i % 2 == 0 ? 52346 : 52347, 10)));
+
+        // ASSERT
+        results.forEach(result -> assertTrue(result.join().isSuccess()));
+        assertEquals(1250, accountRepository.getByNumber(52346).get().getBalance());
+        assertEquals(250, accountRepository.getByNumber(52347).get().getBalance());
+        // Uma atualização por conta no lote
+        assertEquals(1, accountRepository.getByNumber(52346).get().getVersion());
+        assertEquals(50, transactionRepository.count());
+    }
+
+    @Test
+    void contaInexistenteDeveriaRecusarSoOProprioDeposito() {
+        // ACT
+        var missing = coalescer.submit(new DepositDTO(52348, 10));
+        var accepted = coalescer.deposit(new DepositDTO(52346, 10));
+
+        // ASSERT
+        assertEquals(Rejection.NOT_FOUND, missing.join().rejection());
+        assertEquals("Conta 52348 inexistente", missing.join().message());
+        assertTrue(accepted.isSuccess());
+        assertEquals(1010, accountRepository.getByNumber(52346).get().getBalance());
+        assertEquals(1, transactionRepository.count());
+    }
+
+    @Test
+    void falhaDeUmDepositoNaoDeveriaRecusarOsDemaisDoLote() {
+        // ARRANGE
+        var before = deposits("success");
+
+        // ACT
+        // O saldo da primeira conta estouraria o BIGINT e derruba o lote inteiro
+        var overflow = coalescer.submit(new DepositDTO(52346, Long.MAX_VALUE));
+        var accepted = coalescer.submit(new DepositDTO(52347, 10));
+
+        // ASSERT
+        assertTrue(accepted.join().isSuccess());
+        assertThrows(CompletionException.class, overflow::join);
+        assertEquals(1000, accountRepository.getByNumber(52346).get().getBalance());
+        assertEquals(10, accountRepository.getByNumber(52347).get().getBalance());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(before + 1, deposits("success"));
+        assertTrue(deposits("error") >= 1);
+    }
+
+    private long deposits(String outcome) {
+        var timer = registry.find("bankapi.transaction").tag("operation", "deposit").tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
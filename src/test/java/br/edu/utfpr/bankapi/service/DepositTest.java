@@ -1,5 +1,7 @@
 package br.edu.utfpr.bankapi.service;
 
+import java.util.Optional;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,16 +10,19 @@ import org.mockito.BDDMockito;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.edu.utfpr.bankapi.dto.DepositDTO;
 import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.metrics.TransactionMetrics;
 import br.edu.utfpr.bankapi.model.Account;
 import br.edu.utfpr.bankapi.model.Transaction;
 import br.edu.utfpr.bankapi.model.TransactionType;
 import br.edu.utfpr.bankapi.repository.AccountRepository;
 import br.edu.utfpr.bankapi.repository.TransactionRepository;
 import br.edu.utfpr.bankapi.validations.AvailableAccountValidation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 //@SpringBootTest
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +37,12 @@ class DepositTest {
 	@Mock
 	TransactionRepository transactionRepository;
 
+	@Mock
+	HotAccountService hotAccountService;
+
+	@Spy
+	TransactionMetrics transactionMetrics = new TransactionMetrics(new SimpleMeterRegistry());
+
 	@InjectMocks
 	TransactionService service;
 
@@ -58,14 +69,14 @@ class DepositTest {
 		// Garantir que a transação foi salva
 
 		// ### ARRANGE ###
-		double saldoInicial = 150.85;
+		long saldoInicial = 15085; // R$ 150,85 em centavos
 
 		depositDTO = new DepositDTO(12345, 1000);
 		receiverAccount = new Account("John Smith", 12345, saldoInicial, 0);
 
 		// Comportamento do availableAccountValidation
-		BDDMockito.given(availableAccountValidation.validate(depositDTO.receiverAccountNumber()))
-				.willReturn(receiverAccount);
+		BDDMockito.given(availableAccountValidation.find(depositDTO.receiverAccountNumber()))
+				.willReturn(Optional.of(receiverAccount));
 
 		// Comportamento do receiverAccount
 		// BDDMockito.given(receiverAccount.getBalance()).willReturn(1000D);
@@ -0,0 +1,150 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.exception.NotFoundException;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+import br.edu.utfpr.bankapi.validations.Rejection;
+
+// O banco dos testes é compartilhado com outros contextos, que também fazem
+// fold periodicamente: as verificações valem com ou sem fold no meio
+@SpringBootTest(properties = { "bankapi.hot-accounts.fold-interval-ms=3600000", "bankapi.hot-accounts.slots=4" })
+class HotAccountServiceTest {
+
+    @Autowired
+    HotAccountService hotAccountService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountService accountService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() throws NotFoundException {
+        accountRepository.save(new Account("Lauro Lima", 42346, 10000, 0));
+        hotAccountService.enable(42346);
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from tb_account_slot");
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+        hotAccountService.refresh();
+    }
+
+    @Test
+    void depositoEmContaQuenteDeveriaSerCreditadoNasParcelas() {
+        // ACT
+        for (int i = 0; i < 10; i++)
+            transactionService.tryDeposit(new DepositDTO(42346, 1000));
+
+        // ASSERT
+        assertTrue(hotAccountService.isHot(42346));
+        assertEquals(10, transactionRepository.count());
+        assertEquals(20000, accountService.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void saqueDeveriaConsiderarOsCreditosPendentes() {
+        // ARRANGE
+        transactionService.tryDeposit(new DepositDTO(42346, 5000));
+
+        // ACT
+        var accepted = transactionService.tryWithdraw(new WithdrawDTO(42346, 15000));
+        var rejected = transactionService.tryWithdraw(new WithdrawDTO(42346, 1));
+
+        // ASSERT
+        assertTrue(accepted.isSuccess());
+        assertEquals(Rejection.WITHOUT_BALANCE, rejected.rejection());
+        assertEquals(0, accountService.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void foldDeveriaIncorporarAsParcelasAoSaldo() {
+        // ARRANGE
+        transactionService.tryDeposit(new DepositDTO(42346, 3000));
+        transactionService.tryDeposit(new DepositDTO(42346, 4000));
+
+        // ACT
+        hotAccountService.foldAll();
+
+        // ASSERT
+        var account = accountRepository.getByNumber(42346).get();
+        assertEquals(17000, account.getBalance());
+        assertEquals(0, hotAccountService.pending(account));
+    }
+
+    @Test
+    void desativarDeveriaIncorporarAsParcelasERemoverAConta() throws NotFoundException {
+        // ARRANGE
+        transactionService.tryDeposit(new DepositDTO(42346, 2500));
+
+        // ACT
+        var account = hotAccountService.disable(42346);
+
+        // ASSERT
+        assertFalse(hotAccountService.isHot(42346));
+        assertEquals(0, account.getHotSlots());
+        assertEquals(12500, accountRepository.getByNumber(42346).get().getBalance());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from tb_account_slot", Long.class));
+    }
+
+    @Test
+    void creditoEmContaQueDeixouDeSerQuenteDeveriaFalharPorConflito() throws NotFoundException {
+        // ARRANGE
+        // Conta lida como quente antes de ser desativada
+        var stale = accountRepository.getByNumber(42346).get();
+        hotAccountService.disable(42346);
+
+        // ACT
+        assertThrows(OptimisticLockingFailureException.class, () -> hotAccountService.credit(stale, 1000));
+
+        // ASSERT
+        assertEquals(10000, accountRepository.getByNumber(42346).get().getBalance());
+    }
+
+    @Test
+    void pendentesDeContaAlteradaPorFoldDeveriamFalharPorConflito() {
+        // ARRANGE
+        transactionService.tryDeposit(new DepositDTO(42346, 5000));
+        // Conta lida antes do fold: sem os 5000 no saldo
+        var stale = accountRepository.getByNumber(42346).get();
+        hotAccountService.foldAll();
+
+        // ACT
+        assertThrows(OptimisticLockingFailureException.class, () -> hotAccountService.pending(stale));
+
+        // ASSERT
+        // Relida, a conta tem o valor no saldo e nada pendente
+        var account = accountRepository.getByNumber(42346).get();
+        assertEquals(15000, account.getBalance());
+        assertEquals(0, hotAccountService.pending(account));
+        assertTrue(transactionService.tryWithdraw(new WithdrawDTO(42346, 15000)).isSuccess());
+    }
+}
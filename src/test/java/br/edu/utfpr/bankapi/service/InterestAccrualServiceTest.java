@@ -0,0 +1,144 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.InterestAccrual;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.InterestAccrualRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+// Blocos de 2 contas para exercitar a leitura em vários blocos
+@SpringBootTest(properties = { "bankapi.interest.cron=-", "bankapi.interest.monthly-rate=1",
+        "bankapi.interest.chunk-size=2" })
+class InterestAccrualServiceTest {
+
+    @Autowired
+    InterestAccrualService service;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    InterestAccrualRepository interestAccrualRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    YearMonth period = YearMonth.of(2024, 3);
+
+    @BeforeEach
+    void setup() {
+        // Saldos em centavos
+        accountRepository.save(new Account("Lauro Lima", 32346, 100000, 0));
+        accountRepository.save(new Account("João da Silva", 32347, 20000, 0));
+        accountRepository.save(new Account("Maria da Silva", 32348, -5000, 10000));
+        accountRepository.save(new Account("Ana Campos", 32349, 1010, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        interestAccrualRepository.deleteAll();
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaAplicarJurosNosSaldosPositivos() {
+        // ACT
+        var credited = service.accrue(period);
+
+        // ASSERT
+        assertEquals(3, credited);
+        assertEquals(101000, balanceOf(32346));
+        assertEquals(20200, balanceOf(32347));
+        assertEquals(-5000, balanceOf(32348));
+        assertEquals(1020, balanceOf(32349)); // 10,1 centavos arredondados para 10
+        assertEquals(3, transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getType() == TransactionType.INTEREST)
+                .count());
+    }
+
+    @Test
+    void segundaExecucaoNoMesmoPeriodoNaoDeveriaAplicarJurosNovamente() {
+        // ACT
+        service.accrue(period);
+        var credited = service.accrue(period);
+
+        // ASSERT
+        assertEquals(0, credited);
+        assertEquals(101000, balanceOf(32346));
+    }
+
+    @Test
+    void deveriaContinuarAPartirDoUltimoBlocoGravado() {
+        // ARRANGE
+        // Simula uma execução interrompida depois do primeiro bloco
+        interestAccrualRepository.save(new InterestAccrual(period.toString(), 32347, false));
+
+        // ACT
+        var credited = service.accrue(period);
+
+        // ASSERT
+        assertEquals(1, credited);
+        assertEquals(100000, balanceOf(32346));
+        assertEquals(20000, balanceOf(32347));
+        assertEquals(1020, balanceOf(32349));
+    }
+
+    @Test
+    void debitoConcorrenteDeveriaSerVistoPelosJuros() throws Exception {
+        // ARRANGE
+        // Um débito bloqueia a conta antes de os juros lerem o bloco
+        var accrual = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.queryForObject("select balance from tb_account where number = 32346 for update",
+                    Long.class);
+
+            var future = CompletableFuture.supplyAsync(() -> service.accrue(period));
+            sleep(500);
+
+            jdbcTemplate.update("update tb_account set balance = balance - 50000, version = version + 1"
+                    + " where number = 32346");
+            return future;
+        });
+
+        // ACT
+        var credited = accrual.get(10, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertEquals(3, credited);
+        assertEquals(50500, balanceOf(32346)); // juros sobre o saldo depois do débito
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long balanceOf(long number) {
+        return accountRepository.getByNumber(number).get().getBalance();
+    }
+}
@@ -34,4 +34,35 @@ class InterestCalculatorTest {
 		Assertions.assertEquals(93.44, jurosPorMes);
 	}
 
+	@Test
+	void calculoEmCentavosDeveriaSerExato() {
+		// ### ACT / ASSERT ###
+		// 0,5% de R$ 2.000.000,00: o float de 0,5% daria 999999 centavos
+		Assertions.assertEquals(1000000, InterestCalculator.calcularJurosCentavos(200_000_000, 0.5f, 1));
+		// 1,5% ao mês por 6 meses sobre R$ 1.000,00: 9344,3263...
+		Assertions.assertEquals(9344, InterestCalculator.calcularJurosCentavos(100000, 1.5f, 6));
+		// Empate em meio centavo: arredondado para o par
+		Assertions.assertEquals(0, InterestCalculator.calcularJurosCentavos(100, 0.5f, 1));
+		Assertions.assertEquals(2, InterestCalculator.calcularJurosCentavos(300, 0.5f, 1));
+		// Saldo muito alto, além da precisão do double
+		Assertions.assertEquals(46116860184273879L,
+				InterestCalculator.calcularJurosCentavos(4611686018427387904L, 1f, 1));
+	}
+
+	@Test
+	void calculoEmLoteDeveriaIgualarOCalculoIndividual() {
+		// ### ARRANGE ###
+		long[] valores = { 100000, 25075, 0, 1234567, 200_000_000 }; // centavos
+		long[] juros = new long[valores.length];
+
+		// ### ACT ###
+		InterestCalculator.calcularJuros(valores, juros, 0, valores.length, 0.5f, 6);
+
+		// ### ASSERT ###
+		for (int i = 0; i < valores.length; i++)
+			Assertions.assertEquals(InterestCalculator.calcularJurosCentavos(valores[i], 0.5f, 6), juros[i]);
+		// 200.000.000 * (1,005^6 - 1) = 6075501,87...
+		Assertions.assertEquals(6075502, juros[4]);
+	}
+
 }
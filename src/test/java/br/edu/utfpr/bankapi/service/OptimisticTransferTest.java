@@ -0,0 +1,89 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+// Tentativas suficientes para que nenhuma operação desista por conflito
+@SpringBootTest(properties = { "bankapi.concurrency.strategy=optimistic", "bankapi.concurrency.max-attempts=100" })
+class OptimisticTransferTest {
+
+    @Autowired
+    TransactionService service;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 92346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 92347, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void transferenciasCruzadasConcorrentesNaoDeveriamPerderAtualizacoes() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        for (int i = 0; i < 100; i++) {
+            var dto = i % 2 == 0
+                    ? new TransferDTO(92346, 92347, 1)
+                    : new TransferDTO(92347, 92346, 2);
+            executor.submit(() -> service.transfer(dto));
+        }
+        executor.shutdown();
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertEquals(1050, accountRepository.getByNumber(92346).get().getBalance());
+        assertEquals(950, accountRepository.getByNumber(92347).get().getBalance());
+        assertEquals(100, transactionRepository.count());
+    }
+
+    @Test
+    void saquesConcorrentesNaoDeveriamUltrapassarOSaldo() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+        var accepted = new AtomicInteger();
+
+        // ACT
+        // 150 saques de 10 em uma conta com 1000: só 100 cabem no saldo
+        for (int i = 0; i < 150; i++) {
+            executor.submit(() -> {
+                if (service.tryWithdraw(new WithdrawDTO(92346, 10)).isSuccess())
+                    accepted.incrementAndGet();
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(60, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertEquals(100, accepted.get());
+        assertEquals(0, accountRepository.getByNumber(92346).get().getBalance());
+        assertEquals(100, transactionRepository.count());
+    }
+}
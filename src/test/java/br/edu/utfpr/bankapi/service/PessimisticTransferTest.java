@@ -0,0 +1,64 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+@SpringBootTest(properties = "bankapi.concurrency.strategy=pessimistic")
+class PessimisticTransferTest {
+
+    @Autowired
+    TransactionService service;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 12346, 1000, 0));
+        accountRepository.save(new Account("João da Silva", 12347, 1000, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void transferenciasCruzadasConcorrentesNaoDeveriamPerderAtualizacoes() throws Exception {
+        // ARRANGE
+        var executor = Executors.newFixedThreadPool(8);
+
+        // ACT
+        // Transferências nos dois sentidos travariam sem a ordenação dos bloqueios
+        for (int i = 0; i < 100; i++) {
+            var dto = i % 2 == 0
+                    ? new TransferDTO(12346, 12347, 1)
+                    : new TransferDTO(12347, 12346, 2);
+            executor.submit(() -> service.transfer(dto));
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        // ASSERT
+        assertEquals(1050, accountRepository.getByNumber(12346).get().getBalance());
+        assertEquals(950, accountRepository.getByNumber(12347).get().getBalance());
+        assertEquals(100, transactionRepository.count());
+    }
+}
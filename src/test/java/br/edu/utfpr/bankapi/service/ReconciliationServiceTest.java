@@ -0,0 +1,90 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+// Blocos de 3 transações para exercitar a troca de blocos
+@SpringBootTest(properties = "bankapi.reconciliation.chunk-size=3")
+class ReconciliationServiceTest {
+
+    @Autowired
+    ReconciliationService service;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() throws Exception {
+        accountRepository.save(new Account("Lauro Lima", 62346, 0, 0));
+        accountRepository.save(new Account("João da Silva", 62347, 0, 0));
+        accountRepository.save(new Account("Maria da Silva", 62348, 0, 0));
+
+        // Valores em centavos
+        transactionService.deposit(new DepositDTO(62346, 10000));
+        transactionService.deposit(new DepositDTO(62347, 5000));
+        transactionService.transfer(new TransferDTO(62346, 62348, 2500));
+        transactionService.transfer(new TransferDTO(62347, 62346, 1000));
+        transactionService.withdraw(new WithdrawDTO(62348, 500));
+        transactionService.transfer(new TransferDTO(62346, 62346, 300));
+        transactionService.deposit(new DepositDTO(62348, 100));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void saldosConsistentesNaoDeveriamTerDivergencias() {
+        // ACT
+        var report = service.reconcile();
+
+        // ASSERT
+        assertEquals(3, report.accounts());
+        assertEquals(7, report.transactions());
+        assertEquals(0, report.discrepancyCount());
+    }
+
+    @Test
+    void deveriaApontarEReconstruirOSaldoDivergente() {
+        // ARRANGE
+        jdbcTemplate.update("update tb_account set balance = 999 where number = 62348");
+
+        // ACT
+        var report = service.reconcile();
+        var rebuild = service.rebuild();
+
+        // ASSERT
+        assertEquals(1, report.discrepancyCount());
+        assertEquals(62348, report.discrepancies().get(0).number());
+        assertEquals(999, report.discrepancies().get(0).balance());
+        assertEquals(2100, report.discrepancies().get(0).expected());
+        assertEquals(1, rebuild.rebuilt());
+        assertEquals(0, rebuild.skipped());
+        assertEquals(2100, accountRepository.getByNumber(62348).get().getBalance());
+        assertEquals(0, service.reconcile().discrepancyCount());
+    }
+}
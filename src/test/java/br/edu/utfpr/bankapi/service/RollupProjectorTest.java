@@ -0,0 +1,143 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.utfpr.bankapi.dto.DepositDTO;
+import br.edu.utfpr.bankapi.dto.TransferDTO;
+import br.edu.utfpr.bankapi.dto.WithdrawDTO;
+import br.edu.utfpr.bankapi.id.SnowflakeIdGenerator;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+// Sem atraso e em lotes de 2 transações, para exercitar vários lotes
+@SpringBootTest(properties = { "bankapi.rollup.lag-ms=0", "bankapi.rollup.batch-size=2" })
+class RollupProjectorTest {
+
+    @Autowired
+    RollupProjector projector;
+
+    @Autowired
+    ReportService reportService;
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        accountRepository.save(new Account("Lauro Lima", 72346, 0, 0));
+        accountRepository.save(new Account("João da Silva", 72347, 0, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaSomarAsTransacoesNosResumos() throws Exception {
+        // ARRANGE
+        var today = LocalDate.now();
+        var month = YearMonth.now().toString();
+        projector.project();
+        var depositsBefore = depositsOn(today);
+
+        // Valores em centavos
+        transactionService.deposit(new DepositDTO(72346, 10000));
+        transactionService.deposit(new DepositDTO(72346, 5000));
+        transactionService.transfer(new TransferDTO(72346, 72347, 2500));
+        transactionService.withdraw(new WithdrawDTO(72347, 500));
+        Thread.sleep(2); // os ids do milissegundo corrente ainda não são lidos
+
+        // ACT
+        projector.project();
+
+        // ASSERT
+        var flows = reportService.monthlyFlow(72346, month, month);
+        assertEquals(1, flows.size());
+        assertEquals(15000, flows.get(0).getInflow());
+        assertEquals(2500, flows.get(0).getOutflow());
+        assertEquals(2, flows.get(0).getInflowCount());
+        assertEquals(1, flows.get(0).getOutflowCount());
+
+        var receiver = reportService.monthlyFlow(72347, month, month).get(0);
+        assertEquals(2500, receiver.getInflow());
+        assertEquals(500, receiver.getOutflow());
+
+        assertEquals(2, depositsOn(today) - depositsBefore);
+    }
+
+    @Test
+    void segundaProjecaoNaoDeveriaSomarNovamente() throws Exception {
+        // ARRANGE
+        var month = YearMonth.now().toString();
+        transactionService.deposit(new DepositDTO(72346, 10000));
+        Thread.sleep(2);
+
+        // ACT
+        projector.project();
+        var projected = projector.project();
+
+        // ASSERT
+        assertEquals(0, projected);
+        assertEquals(10000, reportService.monthlyFlow(72346, month, month).get(0).getInflow());
+    }
+
+    @Test
+    void transacaoConfirmadaDepoisDoCheckpointDeveriaSerSomada() throws Exception {
+        // ARRANGE
+        var month = YearMonth.now().toString();
+        // Id gerado antes das demais transações, linha gravada depois da projeção
+        var lateId = idGenerator.nextId();
+        transactionService.deposit(new DepositDTO(72346, 10000));
+        Thread.sleep(2);
+        projector.project();
+
+        var receiver = accountRepository.getByNumber(72346).get().getId();
+        jdbcTemplate.update("insert into tb_transaction"
+                + " (id, type, source_account_id, receiver_account_id, amount, date_time) values (?, ?, null, ?, ?, ?)",
+                lateId, TransactionType.DEPOSIT.name(), receiver, 5000, Timestamp.valueOf(LocalDateTime.now()));
+
+        // ACT
+        projector.project();
+        projector.project();
+
+        // ASSERT
+        var flow = reportService.monthlyFlow(72346, month, month).get(0);
+        assertEquals(15000, flow.getInflow());
+        assertEquals(2, flow.getInflowCount());
+    }
+
+    private long depositsOn(LocalDate day) {
+        return reportService.dailyVolume(day, day).stream()
+                .filter(volume -> volume.getType() == TransactionType.DEPOSIT)
+                .mapToLong(volume -> volume.getCount())
+                .sum();
+    }
+}
@@ -0,0 +1,132 @@
+package br.edu.utfpr.bankapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.utfpr.bankapi.dto.TransactionResponseDTO;
+import br.edu.utfpr.bankapi.model.Account;
+import br.edu.utfpr.bankapi.model.Transaction;
+import br.edu.utfpr.bankapi.model.TransactionType;
+import br.edu.utfpr.bankapi.repository.AccountRepository;
+import br.edu.utfpr.bankapi.repository.TransactionRepository;
+
+// Buffer pequeno, para que a saída seja escrita em várias partes
+@SpringBootTest(properties = "bankapi.transaction-export.buffer-size=1024")
+class TransactionExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    @Autowired
+    TransactionExportService exportService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    Account source;
+
+    Account receiver;
+
+    @BeforeEach
+    void setup() {
+        source = accountRepository.save(new Account("Lauro Lima", 92346, 0, 0));
+        receiver = accountRepository.save(new Account("João da Silva", 92347, 0, 0));
+    }
+
+    @AfterEach
+    void cleanup() {
+        transactionRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @Test
+    void deveriaExportarEmNdjsonOMesmoJsonDaApi() throws Exception {
+        // ARRANGE
+        // Fora do intervalo: antes do início e no próprio fim
+        save(null, receiver, 100, TransactionType.DEPOSIT, FROM.minusNanos(1000));
+        save(null, receiver, 100, TransactionType.DEPOSIT, TO);
+
+        var expected = new Transaction[30];
+        for (int i = 0; i < expected.length; i++)
+            expected[i] = save(source, receiver, 10000 + i, TransactionType.TRANSFER,
+                    FROM.plusDays(i).plusNanos(i * 123_000_000L));
+        var withdraw = save(source, null, 5, TransactionType.WITHDRAW, TO.minusSeconds(1));
+
+        // ACT
+        var lines = export(TransactionExportService.Format.NDJSON, false).split("\n");
+
+        // ASSERT
+        assertEquals(31, lines.length);
+        for (int i = 0; i < expected.length; i++)
+            assertEquals(json(expected[i]), objectMapper.readTree(lines[i]));
+        assertEquals(json(withdraw), objectMapper.readTree(lines[30]));
+    }
+
+    @Test
+    void deveriaExportarEmCsvComGzip() throws Exception {
+        // ARRANGE
+        var transaction = save(source, receiver, 150075, TransactionType.TRANSFER, FROM.plusHours(1));
+        save(null, receiver, 5, TransactionType.DEPOSIT, FROM.plusHours(2).plusNanos(500_000));
+
+        // ACT
+        var lines = export(TransactionExportService.Format.CSV, true).split("\n");
+
+        // ASSERT
+        assertEquals(3, lines.length);
+        assertEquals("id,type,sourceAccountNumber,receiverAccountNumber,amount,dateTime", lines[0]);
+        assertEquals(transaction.getId() + ",TRANSFER,92346,92347,1500.75,2024-03-01T01:00:00", lines[1]);
+        assertEquals(",DEPOSIT,,92347,0.05,2024-03-01T02:00:00.0005", lines[2].substring(lines[2].indexOf(',')));
+    }
+
+    @Test
+    void deveriaRejeitarIntervaloInvalido() {
+        // ACT + ASSERT
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.export(TO, FROM, TransactionExportService.Format.CSV, false));
+    }
+
+    private Transaction save(Account source, Account receiver, long amount, TransactionType type,
+            LocalDateTime dateTime) {
+        var transaction = new Transaction(source, receiver, amount, type);
+        transaction.setDateTime(dateTime);
+        return transactionRepository.save(transaction);
+    }
+
+    private JsonNode json(Transaction transaction) throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(TransactionResponseDTO.of(transaction)));
+    }
+
+    private String export(TransactionExportService.Format format, boolean gzip) throws Exception {
+        var out = new ByteArrayOutputStream();
+        exportService.export(FROM, TO, format, gzip).writeTo(out);
+
+        if (!gzip)
+            return out.toString(StandardCharsets.UTF_8);
+
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
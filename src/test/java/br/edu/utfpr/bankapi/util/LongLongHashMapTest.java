@@ -0,0 +1,40 @@
+package br.edu.utfpr.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+    @Test
+    void deveriaAcumularValoresAlemDaCapacidadeInicial() {
+        // ARRANGE
+        var map = new LongLongHashMap(2);
+
+        // ACT
+        for (long i = 0; i < 10_000; i++) {
+            map.add(i * 1024, i);
+            map.add(i * 1024, -1);
+        }
+
+        // ASSERT
+        assertEquals(10_000, map.size());
+        for (long i = 0; i < 10_000; i++)
+            assertEquals(i - 1, map.get(i * 1024));
+    }
+
+    @Test
+    void chaveAusenteDeveriaValerZero() {
+        // ARRANGE
+        var map = new LongLongHashMap();
+        map.add(0, 0);
+
+        // ASSERT
+        assertTrue(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+        assertEquals(0, map.get(1));
+        assertEquals(1, map.size());
+    }
+}
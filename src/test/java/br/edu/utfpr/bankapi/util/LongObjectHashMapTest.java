@@ -0,0 +1,44 @@
+package br.edu.utfpr.bankapi.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LongObjectHashMapTest {
+
+    @Test
+    void deveriaGuardarEObterValoresAlemDaCapacidadeInicial() {
+        // ARRANGE
+        var map = new LongObjectHashMap<String>(2);
+
+        // ACT
+        for (long i = 0; i < 10_000; i++)
+            map.put(i * 1024, "conta " + i);
+
+        // ASSERT
+        assertEquals(10_000, map.size());
+        for (long i = 0; i < 10_000; i++)
+            assertEquals("conta " + i, map.get(i * 1024));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(-1));
+    }
+
+    @Test
+    void putDeveriaSubstituirValorDaMesmaChave() {
+        // ARRANGE
+        var map = new LongObjectHashMap<String>();
+        map.put(12346, "Lauro");
+
+        // ACT
+        var anterior = map.put(12346, "João");
+
+        // ASSERT
+        assertEquals("Lauro", anterior);
+        assertEquals("João", map.get(12346));
+        assertEquals(1, map.size());
+        assertTrue(map.containsKey(12346));
+    }
+}
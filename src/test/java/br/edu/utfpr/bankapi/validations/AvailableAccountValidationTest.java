@@ -69,5 +69,28 @@ public class AvailableAccountValidationTest {
       assertEquals(0, account.getSpecialLimit());
   }
 
-  
+  @Test
+  void variasContasEncontradasEmUmaConsulta() throws NotFoundException {
+      // ARRANGE
+      entityManager.persist(new Account("João da Silva", 12347, 500, 0));
+
+      // ACT
+      var accounts = availableAccountValidation.validateAll(12346, 12347);
+
+      // ASSERT
+      assertEquals(2, accounts.size());
+      assertEquals("Lauro Lima", accounts.get(12346).getName());
+      assertEquals("João da Silva", accounts.get(12347).getName());
+  }
+
+  @Test
+  void variasContasNaoEncontradasNaMesmaExcecao() {
+      // ACT
+      var exception = assertThrows(NotFoundException.class, () -> {
+          availableAccountValidation.validateAll(12345, 12346, 12348);
+      });
+
+      // ASSERT
+      assertEquals("Contas 12345, 12348 inexistentes", exception.getMessage());
+  }
 }